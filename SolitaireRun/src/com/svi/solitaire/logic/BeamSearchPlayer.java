@@ -0,0 +1,273 @@
+package com.svi.solitaire.logic;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.svi.solitaire.vo.Card;
+import com.svi.solitaire.vo.CompactGameState;
+import com.svi.solitaire.vo.GameState;
+import com.svi.solitaire.vo.Move;
+
+/**
+ * Plays a deal by beam search: a breadth-first search that keeps only the best positions of
+ * each depth, as ranked by an {@link Evaluator}.
+ * <p>
+ * Starting from the position to play, every move of every position in the beam is tried, each
+ * followed by its {@link SafeMoves}, and the children that are new positions are ranked; the
+ * best {@code beamWidth} of them form the beam of the next depth. Positions are told apart by
+ * their {@linkplain GameState#getCanonicalHash() canonical key}, so the search never goes round
+ * a loop. The search stops at the first won position, when the beam runs dry, or when the node
+ * budget or the time budget of the deal runs out, and the best line found so far is returned:
+ * the winning one, or else the one leading to the best-ranked position seen.
+ * </p>
+ * <p>
+ * A width of 1 is a greedy player that looks at the evaluation instead of the move order;
+ * wider beams win more deals at a proportional cost in time.
+ * </p>
+ */
+public class BeamSearchPlayer {
+
+    /**
+     * Ranks positions for the beam: the higher the score, the closer the position is taken to be to a win.
+     */
+    @FunctionalInterface
+    public interface Evaluator {
+        /**
+         * Scores a position.
+         *
+         * @param gameState the position to score; it must be left unchanged.
+         * @return the score of the position.
+         */
+        double evaluate(GameState gameState);
+    }
+
+    /**
+     * The default evaluator, which rewards cards on the foundations and penalizes face-down cards
+     * and, less, cards still in the talon or waste. A face-down card weighs a little more than a
+     * foundation card, since turning it up is what opens a deal up.
+     */
+    public static final Evaluator DEFAULT_EVALUATOR = gameState -> {
+        int foundationCards = 0;
+        for (ArrayDeque<Card> pile : gameState.getFoundation()) {
+            foundationCards += pile.size();
+        }
+        return 10.0 * foundationCards - 12.0 * gameState.getFaceDownCards() - 2.0 * gameState.getTalon().size();
+    };
+
+    private final int beamWidth; // Positions kept at each depth
+    private final long nodeBudget; // Maximum number of positions generated per deal
+    private final long timeBudgetNanos; // Maximum time spent per deal, 0 for no limit
+    private Evaluator evaluator = DEFAULT_EVALUATOR;
+
+    private final GameState workspace = new GameState(); // Silent game state the positions are expanded on
+    private final int[] moveBuffer = new int[MoveGenerator.MAX_MOVES];
+    private final PositionHistory visited = new PositionHistory(); // Canonical keys of the positions generated
+    private long nodes; // Positions generated for the current deal
+    private long elapsedNanos; // Time spent on the current deal
+    private boolean budgetExceeded; // Whether the search of the current deal was cut short by a budget
+
+    /**
+     * Creates a beam search player.
+     *
+     * @param beamWidth        the number of positions kept at each depth, at least 1.
+     * @param nodeBudget       the maximum number of positions to generate per deal.
+     * @param timeBudgetMillis the maximum time to spend searching per deal, in milliseconds, or 0 for no limit.
+     * @throws IllegalArgumentException if the beam width is below 1.
+     */
+    public BeamSearchPlayer(int beamWidth, long nodeBudget, long timeBudgetMillis) {
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException("Beam width must be at least 1.");
+        }
+        this.beamWidth = beamWidth;
+        this.nodeBudget = nodeBudget;
+        this.timeBudgetNanos = timeBudgetMillis * 1_000_000L;
+        workspace.setRenderingEnabled(false);
+    }
+
+    /**
+     * Sets the evaluator that ranks the positions of each depth.
+     *
+     * @param evaluator the evaluator to use.
+     */
+    public void setEvaluator(Evaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Searches the current position of a game state and plays the best line found on it.
+     *
+     * @param gameState the game state to play; its turn mode must be set.
+     * @return true if the line wins the game, false otherwise.
+     */
+    public boolean play(GameState gameState) {
+        for (int entry : findLine(gameState)) {
+            gameState.applyMove(Move.withoutFlip(entry));
+        }
+        return gameState.isGameWon();
+    }
+
+    /**
+     * Searches the current position of a game state for the best line within the budgets.
+     * The game state itself is left untouched.
+     *
+     * @param gameState the game state to search; its turn mode must be set.
+     * @return the moves of the best line, as journal entries from the searched position.
+     */
+    public int[] findLine(GameState gameState) {
+        long startTime = System.nanoTime();
+        nodes = 0;
+        budgetExceeded = false;
+        visited.clear();
+        workspace.changeTurnMode(gameState.getTurnMode().getMode()); // The player may be reused for either mode
+        workspace.restorePosition(CompactGameState.fromGameState(gameState), gameState.getMoves());
+
+        SafeMoves.applySafeMoves(workspace);
+        visited.addIfAbsent(workspace.getCanonicalHash());
+        Candidate best = newCandidate(null);
+        List<Candidate> beam = new ArrayList<>(List.of(best));
+        List<Candidate> children = new ArrayList<>();
+        while (!best.won && !beam.isEmpty()) {
+            children.clear();
+            for (Candidate candidate : beam) {
+                if (nodes >= nodeBudget || timeBudgetNanos > 0 && System.nanoTime() - startTime >= timeBudgetNanos) {
+                    budgetExceeded = true;
+                    break;
+                }
+                expand(candidate, children);
+            }
+            if (children.isEmpty()) {
+                break;
+            }
+
+            // Stable, so that equally ranked children keep the priority order of their moves
+            children.sort((first, second) -> Double.compare(second.score, first.score));
+            if (children.get(0).score > best.score) {
+                best = children.get(0);
+            }
+            beam = new ArrayList<>(children.subList(0, Math.min(beamWidth, children.size())));
+            if (budgetExceeded) {
+                break;
+            }
+        }
+        elapsedNanos = System.nanoTime() - startTime;
+        return lineOf(best);
+    }
+
+    /**
+     * Generates the children of a beam position that are positions not seen before.
+     *
+     * @param candidate the beam position to expand.
+     * @param children  the list the new children are added to.
+     */
+    private void expand(Candidate candidate, List<Candidate> children) {
+        workspace.restorePosition(candidate.position, candidate.moves); // Also empties the journal
+        int moveCount = MoveGenerator.generateMoves(workspace, moveBuffer);
+        for (int moveIndex = 0; moveIndex < moveCount; moveIndex++) {
+            workspace.applyMove(moveBuffer[moveIndex]);
+            SafeMoves.applySafeMoves(workspace);
+            nodes++;
+            if (visited.addIfAbsent(workspace.getCanonicalHash())) {
+                children.add(newCandidate(candidate));
+            }
+            while (workspace.getJournalSize() > 0) {
+                workspace.undoMove();
+            }
+        }
+    }
+
+    /**
+     * Records the position of the workspace, reached from a beam position by the moves in its journal.
+     *
+     * @param parent the beam position the moves were played from, or {@code null} for the searched position.
+     * @return the new candidate.
+     */
+    private Candidate newCandidate(Candidate parent) {
+        int[] entries = new int[workspace.getJournalSize()];
+        for (int entryIndex = 0; entryIndex < entries.length; entryIndex++) {
+            entries[entryIndex] = workspace.getJournalEntry(entryIndex);
+        }
+        boolean won = workspace.isGameWon();
+        double score = won ? Double.POSITIVE_INFINITY : evaluator.evaluate(workspace);
+        return new Candidate(parent, entries, CompactGameState.fromGameState(workspace), workspace.getMoves(), score, won);
+    }
+
+    /**
+     * Joins the moves of a candidate and of all its ancestors into one line.
+     *
+     * @param candidate the last position of the line.
+     * @return the journal entries from the searched position to the candidate.
+     */
+    private static int[] lineOf(Candidate candidate) {
+        ArrayDeque<int[]> segments = new ArrayDeque<>();
+        int lineLength = 0;
+        for (Candidate step = candidate; step != null; step = step.parent) {
+            segments.push(step.entries);
+            lineLength += step.entries.length;
+        }
+        int[] line = new int[lineLength];
+        int lineIndex = 0;
+        for (int[] segment : segments) {
+            System.arraycopy(segment, 0, line, lineIndex, segment.length);
+            lineIndex += segment.length;
+        }
+        return line;
+    }
+
+    /**
+     * Gets the number of positions generated for the last deal.
+     *
+     * @return the node count.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the time spent on the last deal.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Checks whether the search of the last deal was cut short by the node or time budget.
+     *
+     * @return true if a budget ran out before the search ended on its own, false otherwise.
+     */
+    public boolean isBudgetExceeded() {
+        return budgetExceeded;
+    }
+
+    /**
+     * Gets the number of positions kept at each depth.
+     *
+     * @return the beam width.
+     */
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    /**
+     * A position of the search, with the moves that reached it from its parent.
+     */
+    private static final class Candidate {
+        private final Candidate parent; // The beam position it was expanded from, or null for the root
+        private final int[] entries; // Journal entries played from the parent, safe moves included
+        private final CompactGameState position;
+        private final int moves; // Move counter of the game at the position
+        private final double score;
+        private final boolean won;
+
+        Candidate(Candidate parent, int[] entries, CompactGameState position, int moves, double score, boolean won) {
+            this.parent = parent;
+            this.entries = entries;
+            this.position = position;
+            this.moves = moves;
+            this.score = score;
+            this.won = won;
+        }
+    }
+}
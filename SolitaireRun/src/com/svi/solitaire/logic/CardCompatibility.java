@@ -0,0 +1,91 @@
+package com.svi.solitaire.logic;
+
+import com.svi.solitaire.vo.Card;
+import com.svi.solitaire.vo.Rank;
+import com.svi.solitaire.vo.Suit;
+
+/**
+ * Precomputed lookup tables for the card legality checks of Klondike Solitaire.
+ * <p>
+ * The tables are built once at class initialization from the card identifiers, so that checking
+ * whether a card stacks on another in the tableau is a single bit test, and checking whether a
+ * card follows the top of its foundation pile is a single array lookup. This keeps rank and colour
+ * comparisons out of the move generation loop.
+ * </p>
+ */
+public final class CardCompatibility {
+
+    /** Marks the absence of a card in {@link #nextFoundationCard(int)}. */
+    public static final int NO_CARD = -1;
+
+    /** Row {@code i} has bit {@code j} set if card {@code i} can be placed on card {@code j} in the tableau. */
+    private static final long[] STACKS_ON = new long[52];
+
+    /** The identifier of the card that follows each card on its foundation pile. */
+    private static final int[] NEXT_FOUNDATION_CARD = new int[52];
+
+    static {
+        Suit[] suits = Suit.values();
+        Rank[] ranks = Rank.values();
+        for (int cardId = 0; cardId < 52; cardId++) {
+            Suit suit = suits[cardId / 13];
+            int rankIndex = cardId % 13;
+            NEXT_FOUNDATION_CARD[cardId] = rankIndex + 1 < ranks.length ? cardId + 1 : NO_CARD;
+
+            for (int targetId = 0; targetId < 52; targetId++) {
+                Suit targetSuit = suits[targetId / 13];
+                if (targetId % 13 == rankIndex + 1 && !suit.getColor().equals(targetSuit.getColor())) {
+                    STACKS_ON[cardId] |= 1L << targetId;
+                }
+            }
+        }
+    }
+
+    private CardCompatibility() {
+        // Static lookup tables only
+    }
+
+    /**
+     * Checks if a card can be placed on another card in the tableau, i.e. it is one rank lower
+     * and of the opposite colour.
+     *
+     * @param cardId   the identifier of the card to place.
+     * @param targetId the identifier of the card it is placed on.
+     * @return {@code true} if the card can be placed on the target card; otherwise, {@code false}.
+     */
+    public static boolean canStack(int cardId, int targetId) {
+        return (STACKS_ON[cardId] >>> targetId & 1L) != 0;
+    }
+
+    /**
+     * Checks if a card can be placed on another card in the tableau.
+     *
+     * @param card   the card to place.
+     * @param target the card it is placed on.
+     * @return {@code true} if the card can be placed on the target card; otherwise, {@code false}.
+     */
+    public static boolean canStack(Card card, Card target) {
+        return canStack(card.getId(), target.getId());
+    }
+
+    /**
+     * Gets the cards a card can be placed on in the tableau, i.e. the two cards one rank higher
+     * and of the opposite colour.
+     *
+     * @param cardId the identifier of the card to place.
+     * @return a bitmask with bit {@code j} set if the card can be placed on card {@code j}; 0 for a King.
+     */
+    public static long stacksOnMask(int cardId) {
+        return STACKS_ON[cardId];
+    }
+
+    /**
+     * Gets the card that follows a card on its foundation pile.
+     *
+     * @param cardId the identifier of the card on top of the foundation pile.
+     * @return the identifier of the next card of the same suit, or {@link #NO_CARD} for a King.
+     */
+    public static int nextFoundationCard(int cardId) {
+        return NEXT_FOUNDATION_CARD[cardId];
+    }
+}
@@ -2,6 +2,7 @@ package com.svi.solitaire.logic;
 
 import com.svi.solitaire.vo.Card;
 import com.svi.solitaire.vo.Rank;
+import com.svi.solitaire.vo.TableauPile;
 
 import java.util.ArrayDeque;
 import java.util.List;
@@ -50,21 +51,27 @@ public class CardMovementHandler {
      * @return {@code true} if the card is successfully added to the foundation; otherwise, {@code false}.
      */
     public static boolean addToFoundation(Card card, List<ArrayDeque<Card>> foundation) {
-        int foundationIndex = card.getSuit().ordinal();
+        if (canAddToFoundation(card, foundation)) {
+            foundation.get(card.getSuit().ordinal()).push(card);
+            return true;
+        }
+        return false;
+    }
 
+    /**
+     * Checks if a card can be added to the foundation without adding it.
+     * Aces can be placed as the first card, and subsequent cards must follow ascending order.
+     *
+     * @param card       the card to check.
+     * @param foundation the list of foundation piles.
+     * @return {@code true} if the card can be added to its foundation pile; otherwise, {@code false}.
+     */
+    public static boolean canAddToFoundation(Card card, List<ArrayDeque<Card>> foundation) {
         if (card.getRank() == Rank.ACE) {
-            foundation.get(foundationIndex).push(card);
             return true;
-        } else {
-            if (!foundation.get(foundationIndex).isEmpty()) {
-                Card topFoundationCard = foundation.get(foundationIndex).peek();
-                if (topFoundationCard.getRank().ordinal() + 1 == card.getRank().ordinal()) {
-                    foundation.get(foundationIndex).push(card);
-                    return true;
-                }
-            }
         }
-        return false;
+        Card topFoundationCard = foundation.get(card.getSuit().ordinal()).peek();
+        return topFoundationCard != null && CardCompatibility.nextFoundationCard(topFoundationCard.getId()) == card.getId();
     }
 
     /**
@@ -90,7 +97,7 @@ public class CardMovementHandler {
      * @param foundation the list of foundation piles.
      * @return {@code true} if the card can be moved; otherwise, {@code false}.
      */
-    public static boolean validateTalonMove(Card topCard, List<ArrayDeque<Card>> tableau, List<ArrayDeque<Card>> foundation) {
+    public static boolean validateTalonMove(Card topCard, List<TableauPile> tableau, List<ArrayDeque<Card>> foundation) {
         if (addToFoundation(topCard, foundation)) {
             return true;
         }
@@ -115,17 +122,16 @@ public class CardMovementHandler {
      * @param tableau    the list of tableau columns.
      * @return {@code true} if the card can be moved; otherwise, {@code false}.
      */
-    public static boolean validateTableauMove(Card cardToMove, List<ArrayDeque<Card>> tableau) {
-        for (ArrayDeque<Card> column : tableau) {
+    public static boolean validateTableauMove(Card cardToMove, List<TableauPile> tableau) {
+        for (TableauPile column : tableau) {
             if (column.isEmpty()) {
                 if (validateEmptyTableauColumnMove(cardToMove)) {
                     logCardMovement(cardToMove, "Column", tableau.indexOf(column) + 1);
                     return true;
                 }
             } else {
-                Card topColumnCard = column.peek();
-                if (topColumnCard.getRank().ordinal() == cardToMove.getRank().ordinal() + 1 &&
-                    topColumnCard.getSuit().getColor() != cardToMove.getSuit().getColor()) {
+                Card topColumnCard = column.peekTop();
+                if (CardCompatibility.canStack(cardToMove, topColumnCard)) {
                     logCardMovement(cardToMove, "Column", tableau.indexOf(column) + 1);
                     return true;
                 }
@@ -136,32 +142,17 @@ public class CardMovementHandler {
 
     /**
      * Retrieves a movable sequence of cards from a tableau column.
-     * A sequence follows descending order and alternating colors.
+     * A sequence follows descending order and alternating colors; in a tableau column
+     * it is made of every face-up card, read from the face-down boundary to the top.
      *
      * @param column the tableau column to analyze.
      * @return a list of cards representing the movable sequence.
      */
-    public static List<Card> getMovableSequence(ArrayDeque<Card> column) {
-        List<Card> sequence = new ArrayList<>();
-        Card previousCard = null;
-
-        for (Card card : column) {
-            if (!card.isFaceUp()) {
-                sequence.clear();
-                continue;
-            }
-
-            if (previousCard == null || 
-                (previousCard.getRank().ordinal() - 1 == card.getRank().ordinal() && 
-                 previousCard.getSuit().getColor() != card.getSuit().getColor())) {
-                sequence.add(card);
-            } else {
-                sequence.clear();
-            }
-
-            previousCard = card;
+    public static List<Card> getMovableSequence(TableauPile column) {
+        List<Card> sequence = new ArrayList<>(column.getFaceUpCount());
+        for (int cardIndex = column.getFaceDownCount(); cardIndex < column.size(); cardIndex++) {
+            sequence.add(column.get(cardIndex));
         }
-
         return sequence;
     }
 
@@ -0,0 +1,104 @@
+package com.svi.solitaire.logic;
+
+import java.util.List;
+
+import com.svi.solitaire.vo.GameState;
+import com.svi.solitaire.vo.TableauPile;
+
+/**
+ * Cheap static checks that prove a freshly dealt game unwinnable, so that it can be counted as
+ * lost without being auto-played or searched. A deal that passes every check may still be lost.
+ * <p>
+ * The blocking rules rest on one observation about a deal: every card but the top one of a column
+ * is face-down, so the cards under a card stay buried until that card itself leaves the column.
+ * A card can only leave by going to its foundation, which needs every lower card of its suit
+ * there first, or by being placed on one of the two cards it stacks on, or, for a King, on an
+ * empty column. A set of buried-card guards is deadlocked when no guard is a King, every guard
+ * has a lower card of its suit buried under a guard, and both cards every guard stacks on are
+ * buried under a guard too: the first guard to leave would need a card that only its leaving
+ * can release.
+ * </p>
+ */
+public final class DeadDealDetector {
+
+    /**
+     * The rules that prove a deal unwinnable, in the order they are checked.
+     */
+    public enum Rule {
+        /** Nothing can be played at the deal, not even a talon card reachable by dealing. */
+        NO_OPENING_MOVES,
+        /** A card buries a lower card of its own suit along with both cards it stacks on. */
+        BLOCKED_CARD,
+        /** Two cards in different columns each bury what the other one needs. */
+        MUTUAL_BLOCK
+    }
+
+    private DeadDealDetector() {
+        // Static checks only
+    }
+
+    /**
+     * Checks a game right after its cards were distributed.
+     *
+     * @param gameState the freshly dealt game.
+     * @return the first rule that proves the deal unwinnable, or {@code null} if none does.
+     */
+    public static Rule detect(GameState gameState) {
+        if (!gameState.hasValidMoves()) {
+            return Rule.NO_OPENING_MOVES;
+        }
+
+        // The tableau cards and the cards buried under each of them, as card-id bitmasks
+        List<TableauPile> tableau = gameState.getTableau();
+        int[] guardIds = new int[52];
+        int[] guardColumns = new int[52];
+        long[] buriedUnder = new long[52];
+        int guardCount = 0;
+        for (int columnIndex = 0; columnIndex < tableau.size(); columnIndex++) {
+            TableauPile column = tableau.get(columnIndex);
+            long buried = 0L;
+            for (int cardIndex = 0; cardIndex < column.size(); cardIndex++) {
+                int cardId = column.get(cardIndex).getId();
+                guardIds[guardCount] = cardId;
+                guardColumns[guardCount] = columnIndex;
+                buriedUnder[guardCount++] = buried;
+                buried |= 1L << cardId;
+            }
+        }
+
+        for (int guard = 0; guard < guardCount; guard++) {
+            if (isStuck(guardIds[guard], buriedUnder[guard])) {
+                return Rule.BLOCKED_CARD;
+            }
+        }
+        for (int first = 0; first < guardCount; first++) {
+            for (int second = first + 1; second < guardCount; second++) {
+                if (guardColumns[first] == guardColumns[second]) {
+                    continue; // The deeper card adds nothing that the upper one does not already bury
+                }
+                long buried = buriedUnder[first] | buriedUnder[second];
+                if (isStuck(guardIds[first], buried) && isStuck(guardIds[second], buried)) {
+                    return Rule.MUTUAL_BLOCK;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a card can never leave its column while a set of cards stays buried.
+     *
+     * @param cardId the card to check.
+     * @param buried the bitmask of the buried cards.
+     * @return {@code true} if the card needs a buried card both to go to its foundation and to be placed on the tableau.
+     */
+    private static boolean isStuck(int cardId, long buried) {
+        long stacksOn = CardCompatibility.stacksOnMask(cardId);
+        if (stacksOn == 0L) {
+            return false; // A King can always wait for an empty column
+        }
+        int rankIndex = cardId % 13;
+        long lowerCardsOfSuit = ((1L << rankIndex) - 1) << (cardId - rankIndex);
+        return (lowerCardsOfSuit & buried) != 0L && (stacksOn & ~buried) == 0L;
+    }
+}
@@ -7,8 +7,8 @@ import com.svi.solitaire.vo.Suit;
 
 /**
  * The {@code DeckInitializer} class is responsible for creating and initializing
- * a complete deck of cards. Each card in the deck is represented as an instance 
- * of the {@code Card} class and consists of a rank and a suit.
+ * a complete deck of cards. Each card in the deck is the shared instance 
+ * of the {@code Card} class for its rank and suit.
  * <p>
  * This class leverages the {@code Rank} and {@code Suit} enumerations to generate 
  * all possible card combinations, ensuring a complete standard 52-card deck is created.
@@ -32,13 +32,14 @@ public class DeckInitializer {
     /**
      * Constructs a new {@code DeckInitializer} object and initializes
      * the deck with 52 standard playing cards. Each card is a combination
-     * of a rank and a suit from the {@code Rank} and {@code Suit} enums.
+     * of a rank and a suit from the {@code Rank} and {@code Suit} enums,
+     * listed in card identifier order.
      */
     public DeckInitializer() {
         deck = new ArrayList<>();
         for (Suit suit : Suit.values()) { // Iterate through all suit values
             for (Rank rank : Rank.values()) { // Iterate through all rank values
-                deck.add(new Card(rank, suit)); // Create a new card and add it to the deck
+                deck.add(Card.valueOf(rank, suit)); // Add the shared card to the deck
             }
         }
     }
@@ -0,0 +1,83 @@
+package com.svi.solitaire.logic;
+
+import java.util.ArrayDeque;
+
+import com.svi.solitaire.vo.Card;
+import com.svi.solitaire.vo.GameRecord;
+import com.svi.solitaire.vo.GameState;
+import com.svi.solitaire.vo.Move;
+
+/**
+ * Rebuilds logged games: the deal is regenerated from its deal number and the logged moves are
+ * applied to it one by one. Every move is checked against the log as it is replayed, so a log
+ * that does not belong to its deal is reported instead of producing a wrong board.
+ * <p>
+ * A replayer reuses one silent {@link GameState}, which is returned by {@link #replay} and is
+ * only valid until the next replay.
+ * </p>
+ */
+public class GameReplayer {
+    private final DeckInitializer deckInitializer = new DeckInitializer();
+    private final GameState gameState = new GameState();
+    private final int[] cardOrder = new int[52];
+
+    /**
+     * Creates a replayer.
+     */
+    public GameReplayer() {
+        gameState.setRenderingEnabled(false);
+    }
+
+    /**
+     * Deals the game of a record.
+     *
+     * @param record the logged game.
+     * @return the game state at the deal, before any move.
+     */
+    public GameState deal(GameRecord record) {
+        gameState.changeTurnMode(record.getTurnMode()); // A log may hold games of both turn modes
+        ShuffleManager.dealCardOrder(record.getShuffleChoice(), record.getDealNumber(), cardOrder);
+        ArrayDeque<Card> shuffledDeck = ShuffleManager.arrangeDeck(deckInitializer.getDeck(), cardOrder);
+        gameState.resetGameState();
+        ShuffleManager.handleShuffledDeck(shuffledDeck, gameState);
+        return gameState;
+    }
+
+    /**
+     * Rebuilds the game of a record after a number of its moves.
+     *
+     * @param record    the logged game.
+     * @param moveCount the number of logged moves to play, from 0 for the deal to the record's move count.
+     * @return the game state after the moves.
+     * @throws IllegalArgumentException if the move count is out of range.
+     * @throws IllegalStateException if the log does not match its deal.
+     */
+    public GameState replay(GameRecord record, int moveCount) {
+        if (moveCount < 0 || moveCount > record.getMoveCount()) {
+            throw new IllegalArgumentException("Move " + moveCount + " out of range 0.." + record.getMoveCount());
+        }
+        deal(record);
+        applyMoves(gameState, record, 0, moveCount);
+        return gameState;
+    }
+
+    /**
+     * Plays a range of the logged moves of a game on a game state that has played the moves before it.
+     *
+     * @param gameState the game, after the first {@code fromMove} moves of the record.
+     * @param record    the logged game.
+     * @param fromMove  the index of the first move to play.
+     * @param toMove    the index after the last move to play.
+     * @throws IllegalStateException if a replayed move does not flip the card the log says it flipped.
+     */
+    public static void applyMoves(GameState gameState, GameRecord record, int fromMove, int toMove) {
+        for (int moveIndex = fromMove; moveIndex < toMove; moveIndex++) {
+            int loggedEntry = record.getMove(moveIndex);
+            int entry = gameState.applyMove(Move.withoutFlip(loggedEntry));
+            if (entry != loggedEntry) {
+                throw new IllegalStateException("Move " + (moveIndex + 1) + " of " + record
+                        + " does not match its deal.");
+            }
+        }
+    }
+}
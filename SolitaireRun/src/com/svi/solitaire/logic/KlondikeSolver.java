@@ -0,0 +1,233 @@
+package com.svi.solitaire.logic;
+
+import java.util.Arrays;
+
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * An exhaustive depth-first solver for Klondike Solitaire deals.
+ * <p>
+ * The solver plays every legal move produced by the {@link MoveGenerator}, under the turn mode
+ * and redeal limit of the game state, and takes each move back with {@link GameState#undoMove()},
+ * so a single game state is searched in place. Positions already searched are skipped through a
+ * {@link TranspositionTable}, and the positions on the current line are kept in an exact
+ * {@link PositionHistory}, so the search never goes round a cycle even when the table has
+ * replaced one of them. The search ends with one of three outcomes: the deal is winnable,
+ * it is unwinnable, or the node budget ran out before either could be decided.
+ * </p>
+ * <p>
+ * By default, positions are stored under their {@linkplain GameState#getCanonicalHash() canonical
+ * key}, so a position reached again with its columns in another order is skipped as well, and
+ * every move is followed by the {@link SafeMoves} it makes possible, so that the search never
+ * branches on a foundation move that cannot hurt.
+ * </p>
+ */
+public class KlondikeSolver {
+
+    /**
+     * The possible results of solving a deal.
+     */
+    public enum Outcome {
+        WINNABLE, // A sequence of moves that wins the game was found
+        UNWINNABLE, // Every reachable position was searched without finding a win
+        BUDGET_EXCEEDED // The node budget ran out before the deal was decided
+    }
+
+    private final TranspositionTable table; // Positions already searched
+    private final PositionHistory linePositions = new PositionHistory(); // Positions on the current line of play
+    private final long nodeBudget; // Maximum number of positions searched per deal
+    private boolean canonicalKeys = true; // Whether positions are stored regardless of column order
+    private boolean safeMoves = true; // Whether safe foundation moves are played at once after every move
+
+    private int[][] moveBuffers = new int[64][]; // One move buffer per search depth, reused between deals
+    private long nodes; // Positions searched in the current deal
+    private long distinctPositions; // Positions added to the table in the current deal
+    private long elapsedNanos; // Time spent on the current deal
+    private int rootJournalSize; // Journal size of the solved position, where the winning line starts
+    private boolean budgetExceeded;
+    private int[] solution = new int[0]; // Winning moves of the last winnable deal
+
+    /**
+     * Creates a solver.
+     *
+     * @param tableBits  the base-2 logarithm of the transposition table capacity.
+     * @param nodeBudget the maximum number of positions to search per deal.
+     */
+    public KlondikeSolver(int tableBits, long nodeBudget) {
+        this.table = new TranspositionTable(tableBits);
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Sets whether positions are stored under their canonical key, which ignores the order of the
+     * tableau columns, or under their plain position hash.
+     *
+     * @param canonicalKeys {@code true} to use canonical keys; {@code false} to use position hashes.
+     */
+    public void setCanonicalKeys(boolean canonicalKeys) {
+        this.canonicalKeys = canonicalKeys;
+    }
+
+    /**
+     * Sets whether every move of the search is followed by all the safe foundation moves it makes possible.
+     *
+     * @param safeMoves {@code true} to play safe moves at once; {@code false} to search them like any other move.
+     */
+    public void setSafeMoves(boolean safeMoves) {
+        this.safeMoves = safeMoves;
+    }
+
+    /**
+     * Solves the current position of a game state. The game state is searched in place
+     * and is returned to its original position when the search ends.
+     *
+     * @param gameState the game state to solve; its turn mode must be set.
+     * @return the outcome of the search.
+     */
+    public Outcome solve(GameState gameState) {
+        table.clear();
+        linePositions.clear();
+        nodes = 0;
+        distinctPositions = 0;
+        budgetExceeded = false;
+        solution = new int[0];
+        rootJournalSize = gameState.getJournalSize();
+
+        long startTime = System.nanoTime();
+        int safeMovesPlayed = safeMoves ? SafeMoves.applySafeMoves(gameState) : 0;
+        boolean won = search(gameState, 0);
+        SafeMoves.undoSafeMoves(gameState, safeMovesPlayed);
+        elapsedNanos = System.nanoTime() - startTime;
+
+        if (won) {
+            return Outcome.WINNABLE;
+        }
+        return budgetExceeded ? Outcome.BUDGET_EXCEEDED : Outcome.UNWINNABLE;
+    }
+
+    /**
+     * Searches every move of the current position, depth first.
+     *
+     * @param gameState the position to search.
+     * @param depth     the number of moves played since the search started.
+     * @return true if a win was found below this position.
+     */
+    private boolean search(GameState gameState, int depth) {
+        if (gameState.isGameWon()) {
+            recordSolution(gameState);
+            return true;
+        }
+        if (nodes >= nodeBudget) {
+            budgetExceeded = true;
+            return false;
+        }
+        nodes++;
+
+        long key = canonicalKeys ? gameState.getCanonicalHash() : gameState.getHash();
+        if (!linePositions.addIfAbsent(key)) {
+            return false; // On the current line of play: a cycle
+        }
+        if (!table.addIfAbsent(key)) {
+            linePositions.remove(key);
+            return false; // Already searched
+        }
+        distinctPositions++;
+
+        int[] moves = getMoveBuffer(depth);
+        int moveCount = MoveGenerator.generateMoves(gameState, moves);
+        boolean won = false;
+        for (int moveIndex = 0; moveIndex < moveCount && !won && !budgetExceeded; moveIndex++) {
+            gameState.applyMove(moves[moveIndex]);
+            int safeMovesPlayed = safeMoves ? SafeMoves.applySafeMoves(gameState) : 0;
+            won = search(gameState, depth + 1);
+            SafeMoves.undoSafeMoves(gameState, safeMovesPlayed);
+            gameState.undoMove();
+        }
+        linePositions.remove(key);
+        return won;
+    }
+
+    /**
+     * Copies the winning line, i.e. the journal entries played since the search started, safe moves
+     * included, before the search unwinds.
+     *
+     * @param gameState the won position.
+     */
+    private void recordSolution(GameState gameState) {
+        solution = new int[gameState.getJournalSize() - rootJournalSize];
+        for (int moveIndex = 0; moveIndex < solution.length; moveIndex++) {
+            solution[moveIndex] = gameState.getJournalEntry(rootJournalSize + moveIndex);
+        }
+    }
+
+    /**
+     * Gets the move buffer of a search depth, creating it on first use.
+     *
+     * @param depth the search depth.
+     * @return the move buffer.
+     */
+    private int[] getMoveBuffer(int depth) {
+        if (depth == moveBuffers.length) {
+            moveBuffers = Arrays.copyOf(moveBuffers, depth * 2);
+        }
+        if (moveBuffers[depth] == null) {
+            moveBuffers[depth] = new int[MoveGenerator.MAX_MOVES];
+        }
+        return moveBuffers[depth];
+    }
+
+    /**
+     * Gets the number of positions searched for the last deal.
+     *
+     * @return the node count.
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Gets the number of positions of the last deal that were not found in the table, i.e. the
+     * distinct positions visited when no entry was replaced.
+     *
+     * @return the distinct position count.
+     */
+    public long getDistinctPositions() {
+        return distinctPositions;
+    }
+
+    /**
+     * Gets the time spent on the last deal.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the search speed for the last deal.
+     *
+     * @return the positions searched per second.
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the winning line found for the last deal, as journal entries.
+     *
+     * @return the winning moves, or an empty array if the last deal was not found winnable.
+     */
+    public int[] getSolution() {
+        return solution.clone();
+    }
+
+    /**
+     * Gets the transposition table used by this solver.
+     *
+     * @return the transposition table.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,184 @@
+package com.svi.solitaire.logic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.svi.solitaire.utilities.MoveLogWriter;
+import com.svi.solitaire.vo.Card;
+import com.svi.solitaire.vo.GameState;
+import com.svi.solitaire.vo.GameStatistics;
+
+/**
+ * Estimates the auto-play win rate of a shuffle type and turn mode by playing numbered deals
+ * across all the workers of a {@link ForkJoinPool}.
+ * <p>
+ * The range of deal numbers is split recursively into tasks. Each task plays its deals with its
+ * own {@link GameState} and deck, with rendering turned off, and the per-task statistics are
+ * merged as the tasks join. Since every deal is regenerated from its deal number, the merged
+ * result is the same whatever the number of threads. Deals can be screened with the
+ * {@link DeadDealDetector} first, so that the ones proven unwinnable are counted as lost unplayed,
+ * and auto-play can be told to play the {@link SafeMoves} of every position at once. Instead of
+ * being auto-played, deals can also be played by a {@link BeamSearchPlayer} of each task.
+ * </p>
+ */
+public class MonteCarloEstimator {
+    private static final int DEALS_PER_TASK = 256; // Deal ranges at most this size are played by one worker
+
+    private final int turnMode;
+    private final int shuffleChoice;
+    private boolean deadDealCheck; // Whether deals proven unwinnable are skipped
+    private boolean safeMoves; // Whether auto-play plays the safe foundation moves after every move
+    private int beamWidth; // Beam width of the beam search player, 0 to auto-play
+    private long beamNodeBudget;
+    private long beamTimeBudgetMillis;
+
+    /**
+     * Creates an estimator for one shuffle type and turn mode.
+     *
+     * @param turnMode      the turn mode (1 or 3).
+     * @param shuffleChoice the shuffle menu option (1 to 4).
+     */
+    public MonteCarloEstimator(int turnMode, int shuffleChoice) {
+        this.turnMode = turnMode;
+        this.shuffleChoice = shuffleChoice;
+    }
+
+    /**
+     * Sets whether every deal is checked by the {@link DeadDealDetector} before it is played.
+     * The win rate is the same either way; the averages then only cover the deals played.
+     *
+     * @param deadDealCheck {@code true} to skip deals proven unwinnable, {@code false} to play every deal.
+     */
+    public void setDeadDealCheck(boolean deadDealCheck) {
+        this.deadDealCheck = deadDealCheck;
+    }
+
+    /**
+     * Sets whether auto-play follows every move with the safe foundation moves it makes possible.
+     *
+     * @param safeMoves {@code true} to play safe moves at once, {@code false} to play by the move order alone.
+     * @see GameState#setSafeMoves(boolean)
+     */
+    public void setSafeMoves(boolean safeMoves) {
+        this.safeMoves = safeMoves;
+    }
+
+    /**
+     * Sets the deals to be played by a {@link BeamSearchPlayer} rather than auto-played.
+     *
+     * @param beamWidth        the number of positions kept at each depth, or 0 to auto-play.
+     * @param nodeBudget       the maximum number of positions to generate per deal.
+     * @param timeBudgetMillis the maximum time to spend searching per deal, in milliseconds, or 0 for no limit.
+     */
+    public void setBeamSearch(int beamWidth, long nodeBudget, long timeBudgetMillis) {
+        this.beamWidth = beamWidth;
+        this.beamNodeBudget = nodeBudget;
+        this.beamTimeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Plays a range of deals on a pool of the given size and merges their outcomes.
+     *
+     * @param firstDealNumber the deal number of the first deal.
+     * @param deals           the number of deals to play.
+     * @param threads         the number of worker threads.
+     * @return the merged statistics of all deals.
+     */
+    public GameStatistics estimate(long firstDealNumber, int deals, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new DealRangeTask(firstDealNumber, deals));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a range of deals on the calling thread.
+     *
+     * @param firstDealNumber the deal number of the first deal.
+     * @param deals           the number of deals to play.
+     * @return the statistics of the deals played.
+     */
+    public GameStatistics playDeals(long firstDealNumber, int deals) {
+        try {
+            return playDeals(firstDealNumber, deals, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Cannot happen, since nothing is logged
+        }
+    }
+
+    /**
+     * Plays a range of deals on the calling thread, writing every game to a move log.
+     *
+     * @param firstDealNumber the deal number of the first deal.
+     * @param deals           the number of deals to play.
+     * @param moveLog         the log the games are written to, or {@code null} to log nothing.
+     * @return the statistics of the deals played.
+     * @throws IOException if the log cannot be written.
+     */
+    public GameStatistics playDeals(long firstDealNumber, int deals, MoveLogWriter moveLog) throws IOException {
+        DeckInitializer deckInitializer = new DeckInitializer();
+        GameState gameState = new GameState();
+        gameState.setRenderingEnabled(false);
+        gameState.setTurnMode(turnMode);
+        gameState.setSafeMoves(safeMoves);
+        BeamSearchPlayer beamPlayer = beamWidth > 0 ? new BeamSearchPlayer(beamWidth, beamNodeBudget, beamTimeBudgetMillis) : null;
+        int[] cardOrder = new int[52];
+
+        GameStatistics statistics = new GameStatistics();
+        for (int dealIndex = 0; dealIndex < deals; dealIndex++) {
+            ShuffleManager.dealCardOrder(shuffleChoice, firstDealNumber + dealIndex, cardOrder);
+            ArrayDeque<Card> shuffledDeck = ShuffleManager.arrangeDeck(deckInitializer.getDeck(), cardOrder);
+
+            gameState.resetGameState();
+            ShuffleManager.handleShuffledDeck(shuffledDeck, gameState);
+            DeadDealDetector.Rule deadDealRule = deadDealCheck ? DeadDealDetector.detect(gameState) : null;
+            if (deadDealRule != null) {
+                statistics.recordDeadDeal(deadDealRule); // Lost before a single move is played
+            } else {
+                if (beamPlayer != null) {
+                    beamPlayer.play(gameState);
+                } else {
+                    gameState.autoPlayGame();
+                }
+                statistics.record(gameState);
+            }
+            if (moveLog != null) {
+                moveLog.writeGame(firstDealNumber + dealIndex, turnMode, shuffleChoice, gameState);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Plays a range of deal numbers, splitting it in halves until it is small enough for one worker.
+     */
+    private class DealRangeTask extends RecursiveTask<GameStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final long firstDealNumber;
+        private final int deals;
+
+        DealRangeTask(long firstDealNumber, int deals) {
+            this.firstDealNumber = firstDealNumber;
+            this.deals = deals;
+        }
+
+        @Override
+        protected GameStatistics compute() {
+            if (deals <= DEALS_PER_TASK) {
+                return playDeals(firstDealNumber, deals);
+            }
+            int firstHalf = deals / 2;
+            DealRangeTask secondTask = new DealRangeTask(firstDealNumber + firstHalf, deals - firstHalf);
+            secondTask.fork();
+            GameStatistics statistics = new DealRangeTask(firstDealNumber, firstHalf).compute();
+            statistics.merge(secondTask.join());
+            return statistics;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.svi.solitaire.logic;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import com.svi.solitaire.vo.Card;
+import com.svi.solitaire.vo.GameState;
+import com.svi.solitaire.vo.Move;
+import com.svi.solitaire.vo.Rank;
+import com.svi.solitaire.vo.TableauPile;
+import com.svi.solitaire.vo.TalonPile;
+
+/**
+ * Generates every legal move of a Klondike Solitaire position as packed {@link Move} values.
+ * <p>
+ * Moves are written into a caller-supplied buffer so that no move objects or temporary
+ * lists are created. They are listed in the priority order of the auto-play policy:
+ * tableau to tableau, tableau to foundation, talon to foundation, talon to tableau,
+ * dealing from the talon and finally redealing the waste.
+ * </p>
+ */
+public class MoveGenerator {
+
+    /**
+     * The largest number of moves a single position can have, used to size move buffers.
+     */
+    public static final int MAX_MOVES = 64;
+
+    /**
+     * Writes every legal move of the position into the buffer.
+     *
+     * @param gameState the position to generate moves for.
+     * @param moves     the buffer that receives the packed moves; must hold at least {@link #MAX_MOVES} entries.
+     * @return the number of moves written into the buffer.
+     */
+    public static int generateMoves(GameState gameState, int[] moves) {
+        int moveCount = generatePlayMoves(gameState, moves);
+
+        TalonPile talon = gameState.getTalon();
+        if (talon.getTalonSize() > 0) {
+            int dealCount = Math.min(gameState.getTurnMode().getMode(), talon.getTalonSize());
+            moves[moveCount++] = Move.pack(Move.DEAL, 0, 0, dealCount);
+        } else if (talon.getWasteSize() > 0 && gameState.getPassesThroughTalon() < GameState.MAX_REDEALS) {
+            moves[moveCount++] = Move.pack(Move.REDEAL, 0, 0, 0);
+        }
+        return moveCount;
+    }
+
+    /**
+     * Writes every legal move of the position that plays a card into the buffer,
+     * leaving out dealing from the talon and redealing the waste.
+     *
+     * @param gameState the position to generate moves for.
+     * @param moves     the buffer that receives the packed moves; must hold at least {@link #MAX_MOVES} entries.
+     * @return the number of moves written into the buffer.
+     */
+    public static int generatePlayMoves(GameState gameState, int[] moves) {
+        List<TableauPile> tableau = gameState.getTableau();
+        List<ArrayDeque<Card>> foundation = gameState.getFoundation();
+        int moveCount = 0;
+
+        // 1. Tableau to tableau: the whole face-up run of a column moves onto a matching card or an empty column
+        for (int sourceIndex = 0; sourceIndex < tableau.size(); sourceIndex++) {
+            TableauPile sourceColumn = tableau.get(sourceIndex);
+            int runLength = sourceColumn.getFaceUpCount(); // The face-up cards of a column always form one run
+            if (runLength == 0) {
+                continue;
+            }
+
+            Card runBottom = sourceColumn.peekRunBottom(runLength);
+            boolean isKing = runBottom.getRank() == Rank.KING;
+            if (isKing && runLength == sourceColumn.size()) {
+                continue; // A King already at the bottom of its column gains nothing by moving
+            }
+
+            for (int targetIndex = 0; targetIndex < tableau.size(); targetIndex++) {
+                if (targetIndex == sourceIndex) {
+                    continue;
+                }
+                TableauPile targetColumn = tableau.get(targetIndex);
+                if (targetColumn.isEmpty() ? isKing : CardCompatibility.canStack(runBottom, targetColumn.peekTop())) {
+                    moves[moveCount++] = Move.pack(Move.TABLEAU_TO_TABLEAU, sourceIndex, targetIndex, runLength);
+                }
+            }
+        }
+
+        // 2. Tableau to foundation
+        for (int sourceIndex = 0; sourceIndex < tableau.size(); sourceIndex++) {
+            TableauPile sourceColumn = tableau.get(sourceIndex);
+            Card topCard = sourceColumn.peekTop();
+            if (sourceColumn.getFaceUpCount() > 0 && CardMovementHandler.canAddToFoundation(topCard, foundation)) {
+                moves[moveCount++] = Move.pack(Move.TABLEAU_TO_FOUNDATION, sourceIndex, topCard.getSuit().ordinal(), 1);
+            }
+        }
+
+        // 3. Talon to foundation, then 4. talon to tableau
+        Card talonCard = gameState.getPlayableTalonCard();
+        if (talonCard != null) {
+            if (CardMovementHandler.canAddToFoundation(talonCard, foundation)) {
+                moves[moveCount++] = Move.pack(Move.TALON_TO_FOUNDATION, 0, talonCard.getSuit().ordinal(), 1);
+            }
+            for (int targetIndex = 0; targetIndex < tableau.size(); targetIndex++) {
+                TableauPile targetColumn = tableau.get(targetIndex);
+                if (targetColumn.isEmpty() ? CardMovementHandler.validateEmptyTableauColumnMove(talonCard)
+                        : CardCompatibility.canStack(talonCard, targetColumn.peekTop())) {
+                    moves[moveCount++] = Move.pack(Move.TALON_TO_TABLEAU, 0, targetIndex, 1);
+                }
+            }
+        }
+        return moveCount;
+    }
+
+    /**
+     * Checks whether any talon card that dealing and redealing can bring to the top of the waste
+     * could be played to the foundation or the tableau as the position stands. When there is no
+     * other move, a {@code false} answer means the game is lost, because dealing alone never
+     * changes the tableau or the foundation.
+     *
+     * @param gameState the position to check.
+     * @return {@code true} if a reachable talon card is playable; otherwise, {@code false}.
+     */
+    public static boolean hasReachableTalonPlay(GameState gameState) {
+        List<TableauPile> tableau = gameState.getTableau();
+        List<ArrayDeque<Card>> foundation = gameState.getFoundation();
+        for (long cards = gameState.getReachableTalonCards(); cards != 0; cards &= cards - 1) {
+            Card talonCard = Card.fromId(Long.numberOfTrailingZeros(cards));
+            if (CardMovementHandler.canAddToFoundation(talonCard, foundation)) {
+                return true;
+            }
+            for (TableauPile targetColumn : tableau) {
+                if (targetColumn.isEmpty() ? CardMovementHandler.validateEmptyTableauColumnMove(talonCard)
+                        : CardCompatibility.canStack(talonCard, targetColumn.peekTop())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
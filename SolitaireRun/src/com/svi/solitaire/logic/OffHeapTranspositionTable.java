@@ -0,0 +1,221 @@
+package com.svi.solitaire.logic;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size, open-addressed table of 64-bit position hashes stored off-heap, which any number
+ * of search threads can share without locks.
+ * <p>
+ * Entries live in direct {@link ByteBuffer}s of at most 1 GB each, so the table can grow to most
+ * of the machine's memory without adding anything for the garbage collector to scan. Each entry
+ * is 16 bytes: a data word holding the search depth at which the position was stored, plus one,
+ * and a check word holding the position hash XOR the data word. A slot is claimed by a CAS on its
+ * data word and the check word is written right after it. Nothing ever waits: a reader takes the
+ * position of an entry to be its check word XOR its data word, so an entry whose check word is
+ * not yet written, or whose two words were written by different threads, reads as some other
+ * position, and the lookup goes on as for any other occupied slot. Like the
+ * {@link TranspositionTable}, the table may forget a position, or keep it twice, but never invents
+ * one beyond the odds of a 64-bit hash collision.
+ * </p>
+ * <p>
+ * Since a position can be forgotten at any time, also when it could not be stored, the table
+ * never tells that a position is on the current line of a search; the search must track that
+ * line itself.
+ * </p>
+ * <p>
+ * When the probe window of a hash is full, the {@link ReplacementPolicy} chooses what to evict.
+ * </p>
+ */
+public class OffHeapTranspositionTable {
+
+    /**
+     * What to do with a new position when every slot of its probe window is taken.
+     */
+    public enum ReplacementPolicy {
+        /** Always overwrite the entry in the home slot with the new position. */
+        ALWAYS_REPLACE,
+        /**
+         * Overwrite the deepest entry of the window, unless the new position is deeper still.
+         * Positions near the root stand for the largest subtrees, so they are the ones worth keeping.
+         */
+        DEPTH_PREFERRED
+    }
+
+    private static final int PROBE_LIMIT = 8; // Slots inspected before an entry is replaced
+    private static final int ENTRY_BYTES = 16; // Data word and check word
+    private static final int CHUNK_ENTRY_BITS = 26; // 2^26 entries of 16 bytes make a 1 GB buffer
+    private static final long EMPTY = 0L; // Data word of an unused slot
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer[] chunks; // The entries, 2^CHUNK_ENTRY_BITS per chunk
+    private final long mask; // Capacity minus one, the capacity being a power of two
+    private final int chunkMask; // Entries per chunk minus one
+    private final ReplacementPolicy policy;
+    private final LongAdder occupiedSlots = new LongAdder(); // Number of slots holding a position
+
+    /**
+     * Creates a table holding up to {@code 2^tableBits} positions.
+     *
+     * @param tableBits the base-2 logarithm of the capacity, between 4 and 36.
+     * @param policy    the replacement policy used when a probe window is full.
+     * @throws IllegalArgumentException if the size is out of range.
+     * @throws OutOfMemoryError if the direct memory for the table cannot be allocated.
+     */
+    public OffHeapTranspositionTable(int tableBits, ReplacementPolicy policy) {
+        if (tableBits < 4 || tableBits > 36) {
+            throw new IllegalArgumentException("Table bits must be between 4 and 36.");
+        }
+        int chunkEntryBits = Math.min(tableBits, CHUNK_ENTRY_BITS);
+        this.chunks = new ByteBuffer[1 << (tableBits - chunkEntryBits)];
+        for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+            chunks[chunkIndex] = ByteBuffer.allocateDirect((1 << chunkEntryBits) * ENTRY_BYTES); // Zero-filled
+        }
+        this.mask = (1L << tableBits) - 1;
+        this.chunkMask = (1 << chunkEntryBits) - 1;
+        this.policy = policy;
+    }
+
+    /**
+     * Adds a position hash to the table unless it is already present.
+     *
+     * @param hash  the 64-bit position hash.
+     * @param depth the number of moves from the root of the search to the position.
+     * @return {@code true} if the position was not found in the table, whether or not it could be stored;
+     *         {@code false} if it was already seen.
+     */
+    public boolean addIfAbsent(long hash, int depth) {
+        long data = depth + 1L; // Never EMPTY
+        long homeSlot = (hash ^ (hash >>> 32)) & mask;
+
+        long victimSlot = homeSlot;
+        long victimData = Long.MIN_VALUE;
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            long slot = (homeSlot + probe) & mask;
+            ByteBuffer chunk = chunk(slot);
+            int offset = offset(slot);
+            long storedData = (long) LONGS.getVolatile(chunk, offset);
+            if (storedData == EMPTY) {
+                if (LONGS.compareAndSet(chunk, offset, EMPTY, data)) {
+                    LONGS.setVolatile(chunk, offset + Long.BYTES, hash ^ data);
+                    occupiedSlots.increment();
+                    return true;
+                }
+                storedData = (long) LONGS.getVolatile(chunk, offset); // Another thread claimed the slot first
+            }
+            if (((long) LONGS.getVolatile(chunk, offset + Long.BYTES) ^ storedData) == hash) {
+                return false;
+            }
+            if (storedData > victimData) {
+                victimSlot = slot;
+                victimData = storedData;
+            }
+        }
+
+        // Probe window full
+        if (policy == ReplacementPolicy.ALWAYS_REPLACE) {
+            victimSlot = homeSlot;
+            victimData = (long) LONGS.getVolatile(chunk(homeSlot), offset(homeSlot));
+        } else if (victimData < data) {
+            return true; // Every entry of the window is nearer the root: the new position is not kept
+        }
+        ByteBuffer chunk = chunk(victimSlot);
+        int offset = offset(victimSlot);
+        if (LONGS.compareAndSet(chunk, offset, victimData, data)) {
+            LONGS.setVolatile(chunk, offset + Long.BYTES, hash ^ data);
+        }
+        return true; // If another thread replaced the victim first, the new position is simply not kept
+    }
+
+    /**
+     * Gets the depth at which a position was stored.
+     *
+     * @param hash the 64-bit position hash.
+     * @return the depth, or -1 if the position is not in the table.
+     */
+    public int getDepth(long hash) {
+        long homeSlot = (hash ^ (hash >>> 32)) & mask;
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            long slot = (homeSlot + probe) & mask;
+            ByteBuffer chunk = chunk(slot);
+            int offset = offset(slot);
+            long storedData = (long) LONGS.getVolatile(chunk, offset);
+            if (storedData == EMPTY) {
+                return -1;
+            }
+            if (((long) LONGS.getVolatile(chunk, offset + Long.BYTES) ^ storedData) == hash) {
+                return (int) (storedData - 1);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes every position from the table. Must not run while other threads use the table.
+     */
+    public void clear() {
+        for (ByteBuffer chunk : chunks) {
+            for (int offset = 0; offset < chunk.capacity(); offset += Long.BYTES) {
+                chunk.putLong(offset, EMPTY);
+            }
+        }
+        occupiedSlots.reset();
+    }
+
+    /**
+     * Gets the number of positions the table can hold.
+     *
+     * @return the capacity in entries.
+     */
+    public long getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the number of slots currently holding a position.
+     *
+     * @return the occupied slot count.
+     */
+    public long getOccupiedSlots() {
+        return occupiedSlots.sum();
+    }
+
+    /**
+     * Gets the fraction of the slots holding a position.
+     *
+     * @return the occupancy between 0 and 1.
+     */
+    public double getOccupancy() {
+        return (double) getOccupiedSlots() / getCapacity();
+    }
+
+    /**
+     * Gets the off-heap memory used by the table entries.
+     *
+     * @return the size of the table in bytes.
+     */
+    public long getMemoryBytes() {
+        return getCapacity() * ENTRY_BYTES;
+    }
+
+    /**
+     * Gets the replacement policy of the table.
+     *
+     * @return the replacement policy.
+     */
+    public ReplacementPolicy getPolicy() {
+        return policy;
+    }
+
+    private ByteBuffer chunk(long slot) {
+        return chunks[(int) (slot >>> CHUNK_ENTRY_BITS)];
+    }
+
+    private int offset(long slot) {
+        return ((int) slot & chunkMask) * ENTRY_BYTES;
+    }
+}
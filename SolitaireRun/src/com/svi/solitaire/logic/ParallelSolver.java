@@ -0,0 +1,377 @@
+package com.svi.solitaire.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.svi.solitaire.vo.CompactGameState;
+import com.svi.solitaire.vo.GameState;
+import com.svi.solitaire.vo.Move;
+
+/**
+ * A depth-first solver that splits the move tree of a single deal across the workers of a
+ * {@link ForkJoinPool}.
+ * <p>
+ * The search is the one of the {@link KlondikeSolver}, but whenever a worker reaches a position
+ * with several moves while its task queue is empty, it keeps the first move for itself and forks
+ * the others as tasks that idle workers can steal. A task is the line of moves leading from the
+ * root to its position; it replays them on a game state of its own, restored from the compact
+ * encoding of the root. All workers share one {@link OffHeapTranspositionTable}, keyed on the
+ * {@linkplain GameState#getCanonicalHash() canonical key} of each position, so a position searched
+ * by one worker is skipped by the others, whatever the order of its columns, and the whole search
+ * stops as soon as any worker finds a win or the shared node budget runs out. As in the
+ * {@link KlondikeSolver}, every move is followed by the {@link SafeMoves} it makes possible, and
+ * each task keeps the positions of its line, from the root on, in an exact {@link PositionHistory},
+ * so that no cycle is searched when the table has forgotten or could not store a position.
+ * </p>
+ */
+public class ParallelSolver {
+    private static final int NODE_BATCH = 256; // Nodes counted locally before the shared count is updated
+
+    private final OffHeapTranspositionTable table; // Positions already searched, shared by every worker
+    private final long nodeBudget; // Maximum number of positions searched per deal
+    private final int threads; // Number of worker threads
+
+    // State of the current search
+    private CompactGameState root;
+    private int rootMoves;
+    private int turnMode;
+    private final AtomicBoolean won = new AtomicBoolean(); // Set once, by the worker that finds the first win
+    private volatile boolean stopped; // Whether the workers must stop, on a win, an exhausted budget or an error
+    private volatile boolean budgetExceeded;
+    private final AtomicLong nodes = new AtomicLong(); // Positions searched by all workers, counted in batches
+    private final AtomicLong pendingTasks = new AtomicLong(); // Tasks forked and not yet finished
+    private CountDownLatch searchDone; // Released when the last task finishes
+    private final AtomicReference<Throwable> failure = new AtomicReference<>(); // First error of any worker
+    private final ConcurrentLinkedQueue<Workspace> spareWorkspaces = new ConcurrentLinkedQueue<>();
+    private final Map<Thread, long[]> nodesByThread = new ConcurrentHashMap<>();
+    private volatile int[] solution = new int[0]; // Winning moves of the last winnable deal
+    private long[] nodesPerThread = new long[0];
+    private long elapsedNanos;
+
+    /**
+     * Creates a parallel solver.
+     *
+     * @param table      the table shared by the workers; it is cleared at the start of every search.
+     * @param nodeBudget the maximum number of positions to search per deal, over all workers.
+     * @param threads    the number of worker threads.
+     */
+    public ParallelSolver(OffHeapTranspositionTable table, long nodeBudget, int threads) {
+        this.table = table;
+        this.nodeBudget = nodeBudget;
+        this.threads = threads;
+    }
+
+    /**
+     * Solves the current position of a game state. The game state itself is left untouched.
+     *
+     * @param gameState the game state to solve; its turn mode must be set.
+     * @return the outcome of the search.
+     * @throws IllegalStateException if a worker failed with a checked exception; the runtime exception
+     *                               or error of the first worker that failed is rethrown as it is.
+     */
+    public KlondikeSolver.Outcome solve(GameState gameState) {
+        root = CompactGameState.fromGameState(gameState);
+        rootMoves = gameState.getMoves();
+        turnMode = gameState.getTurnMode().getMode();
+        won.set(false);
+        stopped = false;
+        budgetExceeded = false;
+        nodes.set(0);
+        failure.set(null);
+        nodesByThread.clear();
+        solution = new int[0];
+        table.clear();
+        pendingTasks.set(1);
+        searchDone = new CountDownLatch(1);
+
+        long startTime = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // The calling thread only waits, so that every task is forked from a worker of this pool
+            pool.execute(new SearchTask(new int[0]));
+            searchDone.await();
+        } catch (InterruptedException e) {
+            stopped = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS); // Also publishes the per-thread counts
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        elapsedNanos = System.nanoTime() - startTime;
+
+        List<long[]> threadCounts = new ArrayList<>(nodesByThread.values());
+        nodesPerThread = new long[threadCounts.size()];
+        for (int threadIndex = 0; threadIndex < nodesPerThread.length; threadIndex++) {
+            nodesPerThread[threadIndex] = threadCounts.get(threadIndex)[0];
+        }
+
+        Throwable searchFailure = failure.get();
+        if (searchFailure instanceof RuntimeException) {
+            throw (RuntimeException) searchFailure;
+        } else if (searchFailure instanceof Error) {
+            throw (Error) searchFailure; // Such as a StackOverflowError on a very deep line
+        } else if (searchFailure != null) {
+            throw new IllegalStateException("Search failed.", searchFailure);
+        }
+        if (won.get()) {
+            return KlondikeSolver.Outcome.WINNABLE;
+        }
+        return budgetExceeded ? KlondikeSolver.Outcome.BUDGET_EXCEEDED : KlondikeSolver.Outcome.UNWINNABLE;
+    }
+
+    /**
+     * Gets the number of positions searched for the last deal, over all workers.
+     *
+     * @return the node count.
+     */
+    public long getNodes() {
+        long totalNodes = 0;
+        for (long threadNodes : nodesPerThread) {
+            totalNodes += threadNodes;
+        }
+        return totalNodes;
+    }
+
+    /**
+     * Gets the number of worker threads the search runs on.
+     *
+     * @return the configured thread count.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Gets the number of positions each worker thread searched for the last deal.
+     *
+     * @return the node counts, one per thread that took part in the search.
+     */
+    public long[] getNodesPerThread() {
+        return nodesPerThread.clone();
+    }
+
+    /**
+     * Gets the time spent on the last deal.
+     *
+     * @return the elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the search speed for the last deal.
+     *
+     * @return the positions searched per second.
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getNodes() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the winning line found for the last deal, as journal entries from the solved position.
+     *
+     * @return the winning moves, or an empty array if the last deal was not found winnable.
+     */
+    public int[] getSolution() {
+        return solution.clone();
+    }
+
+    /**
+     * Gets the transposition table shared by the workers.
+     *
+     * @return the transposition table.
+     */
+    public OffHeapTranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * A game state, its per-depth move buffers and the positions on its line, used by one task at a time.
+     */
+    private static final class Workspace {
+        private final GameState gameState = new GameState();
+        private final PositionHistory linePositions = new PositionHistory(); // Positions from the root to the current one
+        private int[][] moveBuffers = new int[64][];
+
+        Workspace() {
+            gameState.setRenderingEnabled(false);
+        }
+
+        int[] getMoveBuffer(int depth) {
+            if (depth >= moveBuffers.length) {
+                moveBuffers = Arrays.copyOf(moveBuffers, Math.max(depth + 1, moveBuffers.length * 2));
+            }
+            if (moveBuffers[depth] == null) {
+                moveBuffers[depth] = new int[MoveGenerator.MAX_MOVES];
+            }
+            return moveBuffers[depth];
+        }
+    }
+
+    /**
+     * Searches the subtree of the position reached by a line of moves from the root.
+     */
+    private final class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] path; // The moves from the root to the position of this task
+        private long[] threadNodes; // Node count of the thread running the task
+        private int unflushedNodes; // Nodes not yet added to the shared count
+
+        SearchTask(int[] path) {
+            this.path = path;
+        }
+
+        @Override
+        protected void compute() {
+            if (stopped) {
+                finishTask();
+                return;
+            }
+            threadNodes = nodesByThread.computeIfAbsent(Thread.currentThread(), thread -> new long[1]);
+            Workspace workspace = spareWorkspaces.poll();
+            if (workspace == null) {
+                workspace = new Workspace();
+            }
+            try {
+                GameState gameState = workspace.gameState;
+                gameState.changeTurnMode(turnMode); // Workspaces are reused across deals of either mode
+                gameState.restorePosition(root, rootMoves); // Also empties the journal, so its size is the depth
+                workspace.linePositions.clear();
+                for (int move : path) {
+                    workspace.linePositions.addIfAbsent(gameState.getCanonicalHash()); // The line leading to the task
+                    gameState.applyMove(move);
+                }
+                SafeMoves.applySafeMoves(gameState); // The path ends with the move that made the task, or is empty
+                search(workspace);
+            } catch (Throwable e) {
+                // An error must not pass for an exhausted subtree, so it fails the whole search
+                failure.compareAndSet(null, e);
+                stopped = true;
+            } finally {
+                flushNodes();
+                spareWorkspaces.add(workspace);
+                finishTask();
+            }
+        }
+
+        /**
+         * Counts this task as finished and releases the caller of the search after the last one.
+         */
+        private void finishTask() {
+            if (pendingTasks.decrementAndGet() == 0) {
+                searchDone.countDown();
+            }
+        }
+
+        /**
+         * Searches every move of the current position, depth first, forking moves for idle workers.
+         *
+         * @param workspace the workspace holding the position to search.
+         */
+        private void search(Workspace workspace) {
+            GameState gameState = workspace.gameState;
+            if (stopped) {
+                return;
+            }
+            if (gameState.isGameWon()) {
+                recordWin(gameState);
+                return;
+            }
+            threadNodes[0]++;
+            if (++unflushedNodes == NODE_BATCH) {
+                flushNodes();
+            }
+
+            int depth = gameState.getJournalSize();
+            long key = gameState.getCanonicalHash();
+            if (!workspace.linePositions.addIfAbsent(key)) {
+                return; // On the line of this task: a cycle, which the shared table may have forgotten
+            }
+            if (!table.addIfAbsent(key, depth)) {
+                workspace.linePositions.remove(key);
+                return; // Already searched, by this worker or another one
+            }
+
+            int[] moves = workspace.getMoveBuffer(depth);
+            int moveCount = MoveGenerator.generateMoves(gameState, moves);
+            int searchedHere = moveCount;
+            if (moveCount > 1 && getSurplusQueuedTaskCount() <= 0) {
+                // Nothing left for thieves: hand the other moves out as tasks and keep the first one
+                for (int moveIndex = 1; moveIndex < moveCount; moveIndex++) {
+                    pendingTasks.incrementAndGet();
+                    new SearchTask(extendPath(gameState, moves[moveIndex])).fork();
+                }
+                searchedHere = 1;
+            }
+            for (int moveIndex = 0; moveIndex < searchedHere && !stopped; moveIndex++) {
+                gameState.applyMove(moves[moveIndex]);
+                int safeMovesPlayed = SafeMoves.applySafeMoves(gameState);
+                search(workspace);
+                SafeMoves.undoSafeMoves(gameState, safeMovesPlayed);
+                gameState.undoMove();
+            }
+            workspace.linePositions.remove(key);
+        }
+
+        /**
+         * Adds the locally counted nodes to the shared count and stops the search when the budget is spent.
+         */
+        private void flushNodes() {
+            if (nodes.addAndGet(unflushedNodes) >= nodeBudget && !won.get()) {
+                budgetExceeded = true;
+                stopped = true;
+            }
+            unflushedNodes = 0;
+        }
+
+        /**
+         * Builds the line of moves of a child task: the moves played since the root, then one more.
+         *
+         * @param gameState the position of the parent.
+         * @param move      the move leading to the child.
+         * @return the line of moves from the root to the child.
+         */
+        private int[] extendPath(GameState gameState, int move) {
+            int depth = gameState.getJournalSize();
+            int[] childPath = new int[depth + 1];
+            for (int moveIndex = 0; moveIndex < depth; moveIndex++) {
+                childPath[moveIndex] = Move.withoutFlip(gameState.getJournalEntry(moveIndex));
+            }
+            childPath[depth] = move;
+            return childPath;
+        }
+
+        /**
+         * Records the line of the first win found and stops every worker.
+         *
+         * @param gameState the won position.
+         */
+        private void recordWin(GameState gameState) {
+            if (won.compareAndSet(false, true)) {
+                int[] winningLine = new int[gameState.getJournalSize()];
+                for (int moveIndex = 0; moveIndex < winningLine.length; moveIndex++) {
+                    winningLine[moveIndex] = gameState.getJournalEntry(moveIndex);
+                }
+                solution = winningLine;
+            }
+            stopped = true;
+        }
+    }
+}
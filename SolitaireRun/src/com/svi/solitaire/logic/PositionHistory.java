@@ -0,0 +1,112 @@
+package com.svi.solitaire.logic;
+
+import java.util.Arrays;
+
+/**
+ * An exact set of 64-bit position hashes: the positions reached during one auto-played game,
+ * used to stop a game that comes back to a position it has already been in, or the positions on
+ * the current line of a search, used to stop the search from going round a cycle.
+ * <p>
+ * Unlike the {@link TranspositionTable}, the history never forgets a position: it is an
+ * open-addressed set that doubles when half full, so a repeated position is always detected.
+ * Positions are only ever removed explicitly, as a search backs out of them.
+ * </p>
+ */
+public class PositionHistory {
+    private static final int INITIAL_CAPACITY = 256; // Enough for the positions of most games
+    private static final long EMPTY = 0L; // Marker of an unused slot
+
+    private long[] keys = new long[INITIAL_CAPACITY]; // The stored position hashes
+    private int size; // Number of positions in the history
+
+    /**
+     * Adds a position hash to the history unless it is already present.
+     *
+     * @param hash the 64-bit position hash.
+     * @return {@code true} if the position is new, {@code false} if it has been reached before.
+     */
+    public boolean addIfAbsent(long hash) {
+        long key = hash == EMPTY ? 1L : hash; // Keep the empty marker unambiguous
+        int mask = keys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Removes a position hash from the history. The positions after it in its probe run are moved
+     * back into the gap, so that every remaining position can still be found.
+     *
+     * @param hash the 64-bit position hash.
+     * @return {@code true} if the position was in the history, {@code false} otherwise.
+     */
+    public boolean remove(long hash) {
+        long key = hash == EMPTY ? 1L : hash;
+        int mask = keys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = (int) (keys[next] ^ (keys[next] >>> 32)) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next]; // The hole lies between the home slot of the key and its slot
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes every position from the history.
+     */
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+    }
+
+    /**
+     * Gets the number of positions in the history.
+     *
+     * @return the position count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the capacity and reinserts every position.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        keys = new long[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                int slot = (int) (key ^ (key >>> 32)) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
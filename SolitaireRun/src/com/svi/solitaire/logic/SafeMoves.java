@@ -0,0 +1,126 @@
+package com.svi.solitaire.logic;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+import com.svi.solitaire.vo.Card;
+import com.svi.solitaire.vo.GameState;
+import com.svi.solitaire.vo.Move;
+import com.svi.solitaire.vo.Suit;
+import com.svi.solitaire.vo.TableauPile;
+
+/**
+ * Finds and plays the foundation moves that can never make a game worse, so that auto-play and
+ * search can make them at once instead of choosing among them.
+ * <p>
+ * A card is safe to play to its foundation when it is an Ace or a Two, or when both cards of the
+ * opposite colour one rank lower are already on their foundations. No card could ever be placed
+ * on a safe card again, so keeping it on the tableau gains nothing, and playing it from the top of
+ * a column can only uncover another card. The playable waste card is only taken in Turn 1, where
+ * removing it does not change which talon cards the following deals bring up.
+ * </p>
+ * <p>
+ * Safe moves are played as ordinary journaled moves, so they are counted as moves and can be
+ * undone and logged like any other.
+ * </p>
+ */
+public final class SafeMoves {
+
+    /** Returned by {@link #nextSafeMove(GameState)} when no safe move is left. */
+    public static final int NO_MOVE = 0;
+
+    /** The two suits of the opposite colour of each suit, indexed by suit ordinal. */
+    private static final int[][] OPPOSITE_SUITS = new int[4][];
+
+    static {
+        Suit[] suits = Suit.values();
+        for (Suit suit : suits) {
+            OPPOSITE_SUITS[suit.ordinal()] = new int[2];
+            int oppositeCount = 0;
+            for (Suit otherSuit : suits) {
+                if (!suit.getColor().equals(otherSuit.getColor())) {
+                    OPPOSITE_SUITS[suit.ordinal()][oppositeCount++] = otherSuit.ordinal();
+                }
+            }
+        }
+    }
+
+    private SafeMoves() {
+        // Static move rules only
+    }
+
+    /**
+     * Checks whether a card that can go to its foundation is safe to play there.
+     *
+     * @param card       the card to check; it must be playable to its foundation.
+     * @param foundation the foundation piles.
+     * @return {@code true} if the card is never needed on the tableau again; otherwise, {@code false}.
+     */
+    public static boolean isSafe(Card card, List<ArrayDeque<Card>> foundation) {
+        int rankIndex = card.getId() % 13; // Also the foundation size that holds the card one rank lower
+        if (rankIndex <= 1) {
+            return true; // Nothing stacks on an Ace, and an Ace that could stack on a Two can go to its foundation
+        }
+        for (int oppositeSuit : OPPOSITE_SUITS[card.getSuit().ordinal()]) {
+            if (foundation.get(oppositeSuit).size() < rankIndex) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds a safe foundation move of the current position, taking the tableau columns first.
+     *
+     * @param gameState the position to search.
+     * @return the packed safe move, or {@link #NO_MOVE} if there is none.
+     */
+    public static int nextSafeMove(GameState gameState) {
+        List<TableauPile> tableau = gameState.getTableau();
+        List<ArrayDeque<Card>> foundation = gameState.getFoundation();
+        for (int columnIndex = 0; columnIndex < tableau.size(); columnIndex++) {
+            TableauPile column = tableau.get(columnIndex);
+            if (column.getFaceUpCount() > 0) {
+                Card topCard = column.peekTop();
+                if (CardMovementHandler.canAddToFoundation(topCard, foundation) && isSafe(topCard, foundation)) {
+                    return Move.pack(Move.TABLEAU_TO_FOUNDATION, columnIndex, topCard.getSuit().ordinal(), 1);
+                }
+            }
+        }
+        if (gameState.getTurnMode().getMode() == 1) {
+            Card talonCard = gameState.getPlayableTalonCard();
+            if (talonCard != null && CardMovementHandler.canAddToFoundation(talonCard, foundation)
+                    && isSafe(talonCard, foundation)) {
+                return Move.pack(Move.TALON_TO_FOUNDATION, 0, talonCard.getSuit().ordinal(), 1);
+            }
+        }
+        return NO_MOVE;
+    }
+
+    /**
+     * Plays safe moves until none is left: the closure of the position under safe moves.
+     *
+     * @param gameState the game state to play on.
+     * @return the number of moves played, each one a journal entry.
+     */
+    public static int applySafeMoves(GameState gameState) {
+        int movesPlayed = 0;
+        for (int move = nextSafeMove(gameState); move != NO_MOVE; move = nextSafeMove(gameState)) {
+            gameState.applyMove(move);
+            movesPlayed++;
+        }
+        return movesPlayed;
+    }
+
+    /**
+     * Takes back the moves played by {@link #applySafeMoves(GameState)}.
+     *
+     * @param gameState   the game state to undo on.
+     * @param movesPlayed the number of safe moves played, as returned by {@link #applySafeMoves(GameState)}.
+     */
+    public static void undoSafeMoves(GameState gameState, int movesPlayed) {
+        for (int moveIndex = 0; moveIndex < movesPlayed; moveIndex++) {
+            gameState.undoMove();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import com.svi.solitaire.utilities.CardRenderer;
 import com.svi.solitaire.vo.Card;
@@ -12,6 +13,10 @@ import com.svi.solitaire.vo.GameState;
 /**
  * Handles various shuffle algorithms and deck operations for the Klondike Solitaire game.
  * This class provides methods to shuffle, unshuffle, and handle the shuffled deck during initialization.
+ * <p>
+ * Random shuffles are identified by a 64-bit deal number: the same deal number always produces
+ * the same deal, regardless of how many deals were generated before it or on which thread.
+ * </p>
  */
 public class ShuffleManager {
 
@@ -80,27 +85,148 @@ public class ShuffleManager {
     }
 
     /**
-     * Performs a standard random shuffle on the deck.
+     * Performs a standard random shuffle on the deck, reproducible from its deal number.
      *
-     * @param deck the original deck to be shuffled.
+     * @param deck       the original deck to be shuffled.
+     * @param dealNumber the deal number that seeds the shuffle.
      * @return a new {@link ArrayDeque} containing the shuffled cards.
      */
-    public static ArrayDeque<Card> normalShuffle(ArrayDeque<Card> deck) {
-        ArrayList<Card> deckList = new ArrayList<>(deck);
-        Collections.shuffle(deckList); // Uses the default shuffle logic of Collections.shuffle
-        return new ArrayDeque<>(deckList);
+    public static ArrayDeque<Card> normalShuffle(ArrayDeque<Card> deck, long dealNumber) {
+        int[] cardOrder = identityOrder(deck.size());
+        shuffleDeal(dealNumber, cardOrder);
+        return arrangeDeck(new ArrayList<>(deck), cardOrder);
     }
 
     /**
-     * Performs a hard shuffle on the deck, ensuring a completely random order.
+     * Performs a hard shuffle on the deck, ensuring a completely random order that is
+     * reproducible from its deal number.
      *
-     * @param deck the original deck to be shuffled.
+     * @param deck       the original deck to be shuffled.
+     * @param dealNumber the deal number that seeds the shuffle.
      * @return a new {@link ArrayDeque} containing the shuffled cards.
      */
-    public static ArrayDeque<Card> hardShuffle(ArrayDeque<Card> deck) {
-        ArrayList<Card> deckList = new ArrayList<>(deck);
-        Collections.shuffle(deckList);
-        return new ArrayDeque<>(deckList);
+    public static ArrayDeque<Card> hardShuffle(ArrayDeque<Card> deck, long dealNumber) {
+        return normalShuffle(deck, dealNumber);
+    }
+
+    /**
+     * Applies the shuffle matching a shuffle menu option to the deck.
+     * The options follow the shuffle menu: (1) In-Faro, (2) Out-Faro, (3) Normal and (4) Hard.
+     *
+     * @param deck          the original deck to be shuffled, in the order of {@link DeckInitializer}.
+     * @param shuffleChoice the shuffle menu option (1 to 4).
+     * @param dealNumber    the deal number that seeds the random shuffles; ignored by the Faro shuffles.
+     * @return a new {@link ArrayDeque} containing the shuffled cards.
+     * @throws IllegalArgumentException if the shuffle option is not between 1 and 4.
+     */
+    public static ArrayDeque<Card> shuffle(ArrayDeque<Card> deck, int shuffleChoice, long dealNumber) {
+        int[] cardOrder = new int[deck.size()];
+        dealCardOrder(shuffleChoice, dealNumber, cardOrder);
+        return arrangeDeck(new ArrayList<>(deck), cardOrder);
+    }
+
+    /**
+     * Fills an array with the card order of a deal: entry {@code i} is the index, in the
+     * unshuffled deck, of the card dealt in position {@code i}. Regenerating a deal only
+     * depends on its deal number, so any deal can be recreated directly.
+     *
+     * @param shuffleChoice the shuffle menu option (1 to 4).
+     * @param dealNumber    the deal number that seeds the random shuffles; ignored by the Faro shuffles.
+     * @param cardOrder     the array to fill; its length is the deck size.
+     * @throws IllegalArgumentException if the shuffle option is not between 1 and 4.
+     */
+    public static void dealCardOrder(int shuffleChoice, long dealNumber, int[] cardOrder) {
+        for (int index = 0; index < cardOrder.length; index++) {
+            cardOrder[index] = index;
+        }
+
+        switch (shuffleChoice) {
+            case 1:
+                faroInterleave(cardOrder, true);
+                break;
+            case 2:
+                faroInterleave(cardOrder, false);
+                break;
+            case 3: case 4:
+                shuffleDeal(dealNumber, cardOrder);
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid shuffle option. Must be between 1 and 4.");
+        }
+    }
+
+    /**
+     * Checks whether a shuffle option depends on the deal number. The Faro shuffles always deal
+     * the same game, so only the random shuffles give different deals for different deal numbers.
+     *
+     * @param shuffleChoice the shuffle menu option (1 to 4).
+     * @return {@code true} for the Normal and Hard shuffles; {@code false} for the Faro shuffles.
+     */
+    public static boolean isRandomShuffle(int shuffleChoice) {
+        return shuffleChoice == 3 || shuffleChoice == 4;
+    }
+
+    /**
+     * Shuffles an array in place with a Fisher-Yates shuffle seeded by the deal number.
+     *
+     * @param dealNumber the deal number that seeds the shuffle.
+     * @param cardOrder  the array to shuffle in place.
+     */
+    public static void shuffleDeal(long dealNumber, int[] cardOrder) {
+        SplittableRandom random = new SplittableRandom(dealNumber);
+        for (int index = cardOrder.length - 1; index > 0; index--) {
+            int swapIndex = random.nextInt(index + 1);
+            int card = cardOrder[index];
+            cardOrder[index] = cardOrder[swapIndex];
+            cardOrder[swapIndex] = card;
+        }
+    }
+
+    /**
+     * Builds a deck by picking cards from an unshuffled deck in the given order.
+     *
+     * @param deck      the unshuffled deck.
+     * @param cardOrder the indexes of the cards in the unshuffled deck, in dealing order.
+     * @return a new {@link ArrayDeque} containing the arranged cards.
+     */
+    public static ArrayDeque<Card> arrangeDeck(List<Card> deck, int[] cardOrder) {
+        ArrayDeque<Card> arrangedDeck = new ArrayDeque<>(cardOrder.length);
+        for (int index : cardOrder) {
+            arrangedDeck.add(deck.get(index));
+        }
+        return arrangedDeck;
+    }
+
+    /**
+     * Creates the identity card order {@code 0, 1, ..., size - 1}.
+     *
+     * @param size the deck size.
+     * @return the identity order.
+     */
+    private static int[] identityOrder(int size) {
+        int[] cardOrder = new int[size];
+        for (int index = 0; index < size; index++) {
+            cardOrder[index] = index;
+        }
+        return cardOrder;
+    }
+
+    /**
+     * Interleaves the two halves of an array in place, like {@link #inFaroShuffle} (second half first)
+     * or {@link #outFaroShuffle} (first half first).
+     *
+     * @param cardOrder     the array to interleave.
+     * @param secondHalfFirst {@code true} for an In-Faro, {@code false} for an Out-Faro.
+     */
+    private static void faroInterleave(int[] cardOrder, boolean secondHalfFirst) {
+        int[] halves = cardOrder.clone();
+        int middleIndex = halves.length / 2;
+        for (int index = 0; index < middleIndex; index++) {
+            int firstCard = halves[index];
+            int secondCard = halves[middleIndex + index];
+            cardOrder[2 * index] = secondHalfFirst ? secondCard : firstCard;
+            cardOrder[2 * index + 1] = secondHalfFirst ? firstCard : secondCard;
+        }
     }
 
     /**
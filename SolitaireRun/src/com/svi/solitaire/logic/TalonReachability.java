@@ -0,0 +1,108 @@
+package com.svi.solitaire.logic;
+
+import com.svi.solitaire.vo.TalonPile;
+
+/**
+ * Works out which talon and waste cards can still be brought to the top of the waste by dealing
+ * and redealing alone, without playing any card from the waste.
+ * <p>
+ * Dealing {@code n} cards at a time only ever exposes the card at the top of each deal: on the
+ * current pass these are the waste top and every {@code n}th card after the cursor, and on every
+ * later pass they are every {@code n}th card from the start, plus the last card of the talon,
+ * which ends a short final deal. In Turn 1 every card is reachable, in Turn 3 only about a third.
+ * </p>
+ * <p>
+ * The later-pass cards only change when a card is taken off the waste, since the cards behind it
+ * then move up one position, so they are kept as a prefix table over the dealing order that is
+ * recomputed from the removed position on. The current-pass cards follow the cursor and are read
+ * directly. Reachable cards are returned as a bit set of card identifiers.
+ * </p>
+ */
+public final class TalonReachability {
+    private final TalonPile talon;
+    private int dealCount = 1;
+
+    /** Entry {@code p} holds the later-pass deal tops among the first {@code p} cards in dealing order. */
+    private final long[] laterPassPrefix = new long[TalonPile.CAPACITY + 1];
+
+    /**
+     * Creates the reachability analysis of a talon.
+     *
+     * @param talon the talon and waste to analyse; later changes must be reported to this analysis.
+     */
+    public TalonReachability(TalonPile talon) {
+        this.talon = talon;
+    }
+
+    /**
+     * Sets the number of cards dealt at a time and recomputes the analysis.
+     *
+     * @param dealCount 1 for Turn 1 or 3 for Turn 3.
+     */
+    public void setDealCount(int dealCount) {
+        this.dealCount = dealCount;
+        recompute();
+    }
+
+    /**
+     * Recomputes the analysis from scratch, after the talon has been refilled or replaced.
+     */
+    public void recompute() {
+        cardsChangedFrom(0);
+    }
+
+    /**
+     * Updates the analysis after the cards of the talon changed from a position on, i.e. after
+     * the top card of the waste at that position was removed or restored.
+     *
+     * @param index the first position in dealing order whose card changed.
+     */
+    public void cardsChangedFrom(int index) {
+        for (int position = index; position < talon.size(); position++) {
+            long dealTop = position % dealCount == dealCount - 1 ? 1L << talon.getCardId(position) : 0L;
+            laterPassPrefix[position + 1] = laterPassPrefix[position] | dealTop;
+        }
+    }
+
+    /**
+     * Gets the cards that can reach the top of the waste during the current pass,
+     * including the card already on top.
+     *
+     * @return the bit set of card identifiers.
+     */
+    public long getCurrentPassCards() {
+        int cursor = talon.getWasteSize();
+        int size = talon.size();
+        long cards = 0L;
+        if (cursor > 0) {
+            cards |= 1L << talon.getCardId(cursor - 1);
+        }
+        for (int position = cursor + dealCount - 1; position < size - 1; position += dealCount) {
+            cards |= 1L << talon.getCardId(position);
+        }
+        if (cursor < size) {
+            cards |= 1L << talon.getCardId(size - 1);
+        }
+        return cards;
+    }
+
+    /**
+     * Gets the cards that can reach the top of the waste on any pass after the waste is turned back over.
+     *
+     * @return the bit set of card identifiers.
+     */
+    public long getLaterPassCards() {
+        int size = talon.size();
+        return size == 0 ? 0L : laterPassPrefix[size] | 1L << talon.getCardId(size - 1);
+    }
+
+    /**
+     * Gets every card that can reach the top of the waste in the rest of the game.
+     *
+     * @param passesLeft the number of times the waste may still be turned back over.
+     * @return the bit set of card identifiers.
+     */
+    public long getReachableCards(int passesLeft) {
+        return passesLeft > 0 ? getCurrentPassCards() | getLaterPassCards() : getCurrentPassCards();
+    }
+}
@@ -0,0 +1,98 @@
+package com.svi.solitaire.logic;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size, open-addressed set of 64-bit position hashes used by the solver
+ * to skip positions it has already searched.
+ * <p>
+ * The table never grows: each hash has a short probe window, and when that window is full
+ * the entry in its home slot is overwritten. A forgotten position is searched again, so the
+ * table alone cannot detect a cycle: a position on the current line of play may be among those
+ * overwritten. The solver keeps that line in an exact {@link PositionHistory}, and with it,
+ * forgetting a position only costs search time.
+ * </p>
+ */
+public class TranspositionTable {
+    private static final int PROBE_LIMIT = 8; // Slots inspected before an entry is replaced
+    private static final long EMPTY = 0L; // Marker of an unused slot
+
+    private final long[] keys; // The stored position hashes
+    private final int mask; // Capacity minus one, the capacity being a power of two
+    private long occupiedSlots; // Number of slots holding a position
+
+    /**
+     * Creates a table holding up to {@code 2^tableBits} positions.
+     *
+     * @param tableBits the base-2 logarithm of the capacity, between 4 and 30.
+     * @throws IllegalArgumentException if the size is out of range.
+     */
+    public TranspositionTable(int tableBits) {
+        if (tableBits < 4 || tableBits > 30) {
+            throw new IllegalArgumentException("Table bits must be between 4 and 30.");
+        }
+        this.keys = new long[1 << tableBits];
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * Adds a position hash to the table unless it is already present.
+     *
+     * @param hash the 64-bit position hash.
+     * @return {@code true} if the position was not in the table, {@code false} if it was already seen.
+     */
+    public boolean addIfAbsent(long hash) {
+        long key = hash == EMPTY ? 1L : hash; // Keep the empty marker unambiguous
+        int homeSlot = (int) (key ^ (key >>> 32)) & mask;
+
+        for (int probe = 0; probe < PROBE_LIMIT; probe++) {
+            int slot = (homeSlot + probe) & mask;
+            long storedKey = keys[slot];
+            if (storedKey == key) {
+                return false;
+            }
+            if (storedKey == EMPTY) {
+                keys[slot] = key;
+                occupiedSlots++;
+                return true;
+            }
+        }
+        keys[homeSlot] = key; // Probe window full: replace the entry in the home slot
+        return true;
+    }
+
+    /**
+     * Removes every position from the table.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        occupiedSlots = 0;
+    }
+
+    /**
+     * Gets the number of positions the table can hold.
+     *
+     * @return the capacity in entries.
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Gets the number of slots currently holding a position.
+     *
+     * @return the occupied slot count.
+     */
+    public long getOccupiedSlots() {
+        return occupiedSlots;
+    }
+
+    /**
+     * Gets the memory used by the table entries.
+     *
+     * @return the size of the table in bytes.
+     */
+    public long getMemoryBytes() {
+        return (long) keys.length * Long.BYTES;
+    }
+}
@@ -8,7 +8,7 @@ package com.svi.solitaire.logic;
  *     <li>Turn 3: Three cards are dealt at a time from the talon.</li>
  * </ul>
  * This class ensures that the turn mode is set explicitly and cannot be changed
- * once configured, promoting consistent game behavior.
+ * once configured, unless it is reset first, promoting consistent game behavior.
  */
 public class TurnModeHandler {
 
@@ -59,20 +59,43 @@ public class TurnModeHandler {
      * @throws IllegalArgumentException if the provided mode is not valid (must be 1 or 3).
      */
     public void setTurnMode(int mode) {
+        setTurnMode(mode, true);
+    }
+
+    /**
+     * Sets the turn mode for the game, optionally without printing the selected mode.
+     * The valid modes are 1 (Turn 1) or 3 (Turn 3). Once the mode is set, it cannot be changed.
+     *
+     * @param mode     the integer value representing the turn mode (1 or 3).
+     * @param announce {@code true} to print the selected mode to the console.
+     * @throws IllegalArgumentException if the provided mode is not valid (must be 1 or 3).
+     */
+    public void setTurnMode(int mode, boolean announce) {
         if (turnMode != null) {
-            System.out.println("Turn mode is already set to: " + (turnMode == TurnMode.TURN_1 ? "Turn 1" : "Turn 3"));
+            if (announce) {
+                System.out.println("Turn mode is already set to: " + (turnMode == TurnMode.TURN_1 ? "Turn 1" : "Turn 3"));
+            }
             return; // Prevent changing the mode after it is set
         }
 
         if (mode == TurnMode.TURN_1.getMode()) {
             turnMode = TurnMode.TURN_1;
-            System.out.println("\nTurn mode set to: Turn 1");
         } else if (mode == TurnMode.TURN_3.getMode()) {
             turnMode = TurnMode.TURN_3;
-            System.out.println("\nTurn mode set to: Turn 3");
         } else {
             throw new IllegalArgumentException("Invalid turn mode. Must be 1 or 3.");
         }
+        if (announce) {
+            System.out.println("\nTurn mode set to: Turn " + mode);
+        }
+    }
+
+    /**
+     * Clears the turn mode, so that it can be set again. Only meant for a game state reused for
+     * games of either mode, such as the one of a solver or a replayer.
+     */
+    public void resetTurnMode() {
+        turnMode = null;
     }
 
     /**
@@ -0,0 +1,149 @@
+package com.svi.solitaire.logic;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for Zobrist hashing of Klondike Solitaire positions.
+ * <p>
+ * A position hash is the XOR of one key per card for the location of that card, one key for
+ * the number of talon cards already dealt to the waste and one key for the passes through the
+ * talon. Because XOR is its own inverse, moving a card only XORs out its old location key and
+ * XORs in the new one, so the hash can be kept up to date on every move.
+ * </p>
+ * <p>
+ * Cards in the talon and waste share one location: the talon keeps its dealing order, so the
+ * set of remaining cards together with the dealt count identifies the talon and waste exactly.
+ * Tableau columns are identified the same way, since face-down cards never change order and
+ * the face-up cards always form a single descending run.
+ * </p>
+ * <p>
+ * Canonical keys ignore the order of the tableau columns, which does not change the game.
+ * Each column is hashed on its own with keys that do not depend on the column index, and the
+ * column hashes are mixed and added up. Adding is commutative, so permuted columns give the same
+ * key, and the non-linear mix keeps cards of different columns from cancelling out the way a
+ * plain XOR of all the column hashes would. An empty column hashes to 0 and adds nothing.
+ * </p>
+ */
+public final class ZobristKeys {
+
+    /** Location of the talon and waste cards. */
+    public static final int TALON = 0;
+
+    /** Location of the foundation cards. */
+    public static final int FOUNDATION = 1;
+
+    private static final int FIRST_TABLEAU_LOCATION = 2;
+    private static final int LOCATION_COUNT = FIRST_TABLEAU_LOCATION + 2 * 7;
+
+    private static final long SEED = 0x5EED_C0DE_CAFEL; // Fixed so that hashes are identical between runs
+
+    private static final long[] CARD_KEYS = new long[52 * LOCATION_COUNT];
+    private static final long[] DEALT_KEYS = new long[25];
+    private static final long[] PASS_KEYS = new long[4];
+    private static final long[] COLUMN_CARD_KEYS = new long[52 * 2]; // Face-down, then face-up, in any column
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        fill(CARD_KEYS, random);
+        fill(DEALT_KEYS, random);
+        fill(PASS_KEYS, random);
+        fill(COLUMN_CARD_KEYS, random);
+    }
+
+    private ZobristKeys() {
+        // Static key tables only
+    }
+
+    /**
+     * Gets the location of a tableau card.
+     *
+     * @param columnIndex the tableau column index.
+     * @param faceUp      whether the card is face-up.
+     * @return the location index.
+     */
+    public static int tableau(int columnIndex, boolean faceUp) {
+        return FIRST_TABLEAU_LOCATION + (faceUp ? 7 : 0) + columnIndex;
+    }
+
+    /**
+     * Checks whether a location is a tableau column.
+     *
+     * @param location the location index.
+     * @return {@code true} for a tableau location; otherwise, {@code false}.
+     */
+    public static boolean isTableau(int location) {
+        return location >= FIRST_TABLEAU_LOCATION;
+    }
+
+    /**
+     * Gets the column of a tableau location.
+     *
+     * @param location the tableau location index.
+     * @return the tableau column index.
+     */
+    public static int column(int location) {
+        return (location - FIRST_TABLEAU_LOCATION) % 7;
+    }
+
+    /**
+     * Gets the key of a card in a tableau column, whichever column it is, for canonical keys.
+     *
+     * @param cardId   the card identifier, from 0 to 51.
+     * @param location the tableau location index of the card.
+     * @return the 64-bit key.
+     */
+    public static long columnCard(int cardId, int location) {
+        boolean faceUp = location - FIRST_TABLEAU_LOCATION >= 7;
+        return COLUMN_CARD_KEYS[(faceUp ? 52 : 0) + cardId];
+    }
+
+    /**
+     * Mixes the hash of one tableau column before it is added into a canonical key.
+     *
+     * @param columnHash the XOR of the {@link #columnCard} keys of the cards in the column.
+     * @return the mixed hash, 0 for an empty column.
+     */
+    public static long mixColumn(long columnHash) {
+        long mixed = columnHash; // SplitMix64 finalizer, a bijection that maps 0 to 0
+        mixed = (mixed ^ (mixed >>> 30)) * 0xbf58476d1ce4e5b9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94d049bb133111ebL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * Gets the key of a card at a location.
+     *
+     * @param cardId   the card identifier, from 0 to 51.
+     * @param location the location index.
+     * @return the 64-bit key.
+     */
+    public static long card(int cardId, int location) {
+        return CARD_KEYS[location * 52 + cardId];
+    }
+
+    /**
+     * Gets the key of the number of talon cards dealt to the waste.
+     *
+     * @param dealtCount the number of cards in the waste.
+     * @return the 64-bit key.
+     */
+    public static long dealt(int dealtCount) {
+        return DEALT_KEYS[dealtCount];
+    }
+
+    /**
+     * Gets the key of the number of passes through the talon.
+     *
+     * @param passes the passes through the talon.
+     * @return the 64-bit key.
+     */
+    public static long passes(int passes) {
+        return PASS_KEYS[passes];
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int keyIndex = 0; keyIndex < keys.length; keyIndex++) {
+            keys[keyIndex] = random.nextLong();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.svi.solitaire.main;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import com.svi.solitaire.logic.BeamSearchPlayer;
+import com.svi.solitaire.logic.DeadDealDetector;
+import com.svi.solitaire.logic.MonteCarloEstimator;
+import com.svi.solitaire.logic.SafeMoves;
+import com.svi.solitaire.utilities.MoveLogWriter;
+import com.svi.solitaire.vo.GameStatistics;
+
+/**
+ * The {@code BatchSimulator} class is a non-interactive entry point that shuffles,
+ * deals and auto-plays a number of Klondike Solitaire games with all console
+ * rendering turned off, then reports the wins, average moves and average passes
+ * through the talon. Deals proven unwinnable by the {@link DeadDealDetector} are
+ * counted as lost without being played, and the deals each rule rejected are reported.
+ * <p>
+ * Usage: {@code BatchSimulator [games] [turnMode] [shuffleChoice] [firstDealNumber] [moveLogFile] [safeMoves]
+ * [beamWidth] [beamNodeBudget] [beamTimeMillis]} where the
+ * turn mode is 1 or 3 and the shuffle choice follows the shuffle menu: (1) In-Faro, (2) Out-Faro,
+ * (3) Normal and (4) Hard. Games are dealt from consecutive deal numbers starting at the first
+ * deal number, so a batch, or any single deal of it, can be replayed exactly.
+ * The defaults are 10000 games of Turn 1 with a Normal shuffle, starting at deal number 1.
+ * If a move log file other than {@code -} is given, every game is appended to it, to be replayed with
+ * the {@link ReplayTool}. With {@code safeMoves} set to {@code true}, every move is followed by all
+ * the {@link SafeMoves safe} foundation moves it makes possible. A beam width above 0 has every
+ * game played by a {@link BeamSearchPlayer} of that width instead of being auto-played, within a
+ * budget of 100,000 positions per game by default and, if given, a time limit per game.
+ * </p>
+ *
+ * @author Emmanuel Simbulan
+ */
+public class BatchSimulator {
+
+    /**
+     * The main method runs the batch and prints the summary.
+     *
+     * @param args the optional number of games, turn mode, shuffle choice, first deal number, move log file,
+     *             safe moves flag, beam width, beam node budget and beam time budget.
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int turnMode = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int shuffleChoice = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long firstDealNumber = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+        String moveLogFile = args.length > 4 && !args[4].equals("-") ? args[4] : null;
+        boolean safeMoves = args.length > 5 && Boolean.parseBoolean(args[5]);
+        int beamWidth = args.length > 6 ? Integer.parseInt(args[6]) : 0;
+        long beamNodeBudget = args.length > 7 ? Long.parseLong(args[7]) : 100_000L;
+        long beamTimeMillis = args.length > 8 ? Long.parseLong(args[8]) : 0L;
+
+        long startTime = System.nanoTime();
+        GameStatistics statistics;
+        MonteCarloEstimator estimator = newEstimator(turnMode, shuffleChoice);
+        estimator.setSafeMoves(safeMoves);
+        estimator.setBeamSearch(beamWidth, beamNodeBudget, beamTimeMillis);
+        if (moveLogFile != null) {
+            try (MoveLogWriter moveLog = MoveLogWriter.open(Paths.get(moveLogFile))) {
+                statistics = estimator.playDeals(firstDealNumber, games, moveLog);
+            } catch (IOException e) {
+                System.out.println("Cannot write move log " + moveLogFile + ": " + e.getMessage());
+                return;
+            }
+        } else {
+            statistics = estimator.playDeals(firstDealNumber, games);
+        }
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+
+        System.out.println(statistics);
+        StringBuilder deadDeals = new StringBuilder("Dead deals by rule:");
+        for (DeadDealDetector.Rule rule : DeadDealDetector.Rule.values()) {
+            deadDeals.append(' ').append(rule).append(' ').append(statistics.getDeadDeals(rule));
+        }
+        System.out.println(deadDeals);
+        System.out.printf("Elapsed: %.2f s (%.0f games/sec)%n", elapsedSeconds, games / elapsedSeconds);
+    }
+
+    /**
+     * Plays the given number of games silently and collects their outcomes.
+     *
+     * @param games           the number of games to play.
+     * @param turnMode        the turn mode (1 or 3).
+     * @param shuffleChoice   the shuffle menu option (1 to 4).
+     * @param firstDealNumber the deal number of the first game; game {@code i} uses {@code firstDealNumber + i}.
+     * @return the statistics of all games played.
+     */
+    public static GameStatistics runBatch(int games, int turnMode, int shuffleChoice, long firstDealNumber) {
+        return newEstimator(turnMode, shuffleChoice).playDeals(firstDealNumber, games);
+    }
+
+    private static MonteCarloEstimator newEstimator(int turnMode, int shuffleChoice) {
+        MonteCarloEstimator estimator = new MonteCarloEstimator(turnMode, shuffleChoice);
+        estimator.setDeadDealCheck(true);
+        return estimator;
+    }
+}
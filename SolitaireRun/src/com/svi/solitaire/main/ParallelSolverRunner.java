@@ -0,0 +1,69 @@
+package com.svi.solitaire.main;
+
+import com.svi.solitaire.logic.GameReplayer;
+import com.svi.solitaire.logic.KlondikeSolver;
+import com.svi.solitaire.logic.OffHeapTranspositionTable;
+import com.svi.solitaire.logic.ParallelSolver;
+import com.svi.solitaire.vo.GameRecord;
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * The {@code ParallelSolverRunner} class is a non-interactive entry point that solves one deal with
+ * the {@link ParallelSolver}, first on a single thread and then on every worker thread, and reports
+ * the outcome, the node count of each thread, the table occupancy and the speedup of the parallel run.
+ * <p>
+ * Usage: {@code ParallelSolverRunner [dealNumber] [turnMode] [shuffleChoice] [nodeBudget] [tableBits] [threads]}.
+ * The defaults are deal number 1 of Turn 1 with a Normal shuffle, a budget of 10,000,000 nodes,
+ * a table of 2^24 positions and every available processor.
+ * </p>
+ *
+ * @author Emmanuel Simbulan
+ */
+public class ParallelSolverRunner {
+
+    /**
+     * The main method solves the deal on one thread, then on all threads, and prints both runs.
+     *
+     * @param args the optional deal number, turn mode, shuffle choice, node budget, table size and thread count.
+     */
+    public static void main(String[] args) {
+        long dealNumber = args.length > 0 ? Long.parseLong(args[0]) : 1L;
+        int turnMode = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int shuffleChoice = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long nodeBudget = args.length > 3 ? Long.parseLong(args[3]) : 10_000_000L;
+        int tableBits = args.length > 4 ? Integer.parseInt(args[4]) : 24;
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+
+        GameState gameState = new GameReplayer().deal(new GameRecord(dealNumber, turnMode, shuffleChoice, new int[0]));
+        OffHeapTranspositionTable table = new OffHeapTranspositionTable(tableBits,
+                OffHeapTranspositionTable.ReplacementPolicy.DEPTH_PREFERRED);
+        System.out.printf("Deal %d | Turn %d | Shuffle %d | Table: %d entries, %.1f MB off-heap%n", dealNumber, turnMode,
+                shuffleChoice, table.getCapacity(), table.getMemoryBytes() / (1024.0 * 1024.0));
+
+        long singleThreadNanos = solve(new ParallelSolver(table, nodeBudget, 1), gameState);
+        if (threads > 1) {
+            long parallelNanos = solve(new ParallelSolver(table, nodeBudget, threads), gameState);
+            System.out.printf("Speedup on %d threads: %.2fx%n", threads, (double) singleThreadNanos / parallelNanos);
+        }
+    }
+
+    /**
+     * Solves the deal once and prints the run.
+     *
+     * @param solver    the solver to run.
+     * @param gameState the dealt game.
+     * @return the time the search took, in nanoseconds.
+     */
+    private static long solve(ParallelSolver solver, GameState gameState) {
+        KlondikeSolver.Outcome outcome = solver.solve(gameState);
+        long[] nodesPerThread = solver.getNodesPerThread();
+        System.out.printf("%n%d worker thread(s): %s in %.3f s | Nodes: %d (%.0f nodes/sec) | Occupancy: %.1f%%%n",
+                solver.getThreads(), outcome, solver.getElapsedNanos() / 1e9, solver.getNodes(),
+                solver.getNodesPerSecond(), solver.getTable().getOccupancy() * 100);
+        System.out.println("  Threads that took part: " + nodesPerThread.length);
+        for (int threadIndex = 0; threadIndex < nodesPerThread.length; threadIndex++) {
+            System.out.println("  Thread " + (threadIndex + 1) + ": " + nodesPerThread[threadIndex] + " nodes");
+        }
+        return solver.getElapsedNanos();
+    }
+}
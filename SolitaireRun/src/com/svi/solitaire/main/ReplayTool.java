@@ -0,0 +1,143 @@
+package com.svi.solitaire.main;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.svi.solitaire.logic.GameReplayer;
+import com.svi.solitaire.utilities.MoveLogReader;
+import com.svi.solitaire.utilities.ReplayStore;
+import com.svi.solitaire.vo.GameRecord;
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * The {@code ReplayTool} class is a non-interactive entry point that reads a binary move log
+ * written by the {@link BatchSimulator} and shows any game of it at any step.
+ * <p>
+ * Usage: {@code ReplayTool <moveLogFile> [gameIndex] [step] [snapshotSpacing]}. Without a game
+ * index, the games of the log are listed. Otherwise the game is rebuilt at the step, which
+ * defaults to the end of the game, and the board is printed along with the last move. Step 0 is
+ * the deal. Steps are reached through a {@link ReplayStore} kept in an index file next to the log;
+ * the index is built on first use, or rebuilt when a snapshot spacing is given.
+ * </p>
+ *
+ * @author Emmanuel Simbulan
+ */
+public class ReplayTool {
+
+    /**
+     * The main method lists the logged games or prints one of them.
+     *
+     * @param args the move log file, then the optional game index and step.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: ReplayTool <moveLogFile> [gameIndex] [step] [snapshotSpacing]");
+            return;
+        }
+        Path moveLogFile = Paths.get(args[0]);
+        List<GameRecord> records;
+        try {
+            records = readLog(moveLogFile);
+        } catch (IOException e) {
+            System.out.println("Cannot read move log " + args[0] + ": " + e.getMessage());
+            return;
+        }
+
+        if (args.length == 1) {
+            for (int gameIndex = 0; gameIndex < records.size(); gameIndex++) {
+                System.out.println(gameIndex + ": " + records.get(gameIndex));
+            }
+            return;
+        }
+        int gameIndex = Integer.parseInt(args[1]);
+        if (gameIndex < 0 || gameIndex >= records.size()) {
+            System.out.println("Game " + gameIndex + " out of range 0.." + (records.size() - 1));
+            return;
+        }
+        GameRecord record = records.get(gameIndex);
+        int step = args.length > 2 ? Integer.parseInt(args[2]) : record.getMoveCount();
+        if (step < 0 || step > record.getMoveCount()) {
+            System.out.println("Step " + step + " out of range 0.." + record.getMoveCount());
+            return;
+        }
+        int snapshotSpacing = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        ReplayStore store;
+        try {
+            store = openStore(moveLogFile, records, snapshotSpacing);
+        } catch (IOException e) {
+            System.out.println("Cannot use replay index of " + args[0] + ": " + e.getMessage());
+            return;
+        }
+        printStep(store, gameIndex, step);
+    }
+
+    /**
+     * Reads the replay index of a move log, or builds it and saves it next to the log.
+     *
+     * @param moveLogFile     the move log file.
+     * @param records         the games of the log.
+     * @param snapshotSpacing the snapshot spacing to rebuild the index with, or 0 to use the saved index.
+     * @return the replay store.
+     * @throws IOException if the index cannot be read or written.
+     */
+    private static ReplayStore openStore(Path moveLogFile, List<GameRecord> records, int snapshotSpacing) throws IOException {
+        Path indexFile = ReplayStore.indexFileOf(moveLogFile);
+        if (snapshotSpacing == 0 && Files.exists(indexFile)
+                && Files.getLastModifiedTime(indexFile).compareTo(Files.getLastModifiedTime(moveLogFile)) >= 0) {
+            return ReplayStore.read(indexFile, records);
+        }
+        ReplayStore store = ReplayStore.build(records,
+                snapshotSpacing == 0 ? ReplayStore.DEFAULT_SNAPSHOT_SPACING : snapshotSpacing);
+        store.write(indexFile);
+        return store;
+    }
+
+    /**
+     * Reads every game of a move log.
+     *
+     * @param file the log file.
+     * @return the games, in the order they were logged.
+     * @throws IOException if the file cannot be read or is not a move log.
+     */
+    public static List<GameRecord> readLog(Path file) throws IOException {
+        List<GameRecord> records = new ArrayList<>();
+        try (MoveLogReader reader = MoveLogReader.open(file)) {
+            GameRecord record;
+            while ((record = reader.readGame()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Prints a logged game after a number of its moves, with the CardRenderer board layout.
+     *
+     * @param store     the replay store of the log.
+     * @param gameIndex the index of the game in the log.
+     * @param step      the number of moves to replay.
+     */
+    private static void printStep(ReplayStore store, int gameIndex, int step) {
+        GameRecord record = store.getRecord(gameIndex);
+        System.out.println(record);
+        System.out.println("============ Step " + step + " of " + record.getMoveCount() + " ============");
+        GameState gameState;
+        if (step == 0) {
+            gameState = store.seek(gameIndex, 0);
+            System.out.println("Deal");
+        } else {
+            gameState = store.seek(gameIndex, step - 1);
+            System.out.println(gameState.describeMove(record.getMove(step - 1)));
+            GameReplayer.applyMoves(gameState, record, step - 1, step);
+        }
+        gameState.printGameStatus();
+        gameState.updateGameState();
+        if (gameState.isGameWon()) {
+            System.out.println("\nThe game is won.");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.svi.solitaire.main;
+
+import java.util.ArrayDeque;
+
+import com.svi.solitaire.logic.DeadDealDetector;
+import com.svi.solitaire.logic.DeckInitializer;
+import com.svi.solitaire.logic.KlondikeSolver;
+import com.svi.solitaire.logic.ShuffleManager;
+import com.svi.solitaire.vo.Card;
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * The {@code SolverRunner} class is a non-interactive entry point that deals a number of games
+ * and runs the {@link KlondikeSolver} on each, reporting how many deals are winnable, unwinnable
+ * or undecided within the node budget, along with the node throughput and table memory.
+ * Deals proven unwinnable by the {@link DeadDealDetector} are counted as unwinnable without
+ * being searched, and the deals each rule rejected are reported.
+ * <p>
+ * Usage: {@code SolverRunner [deals] [turnMode] [shuffleChoice] [nodeBudget] [tableBits] [firstDealNumber] [compareKeys]}.
+ * The defaults are 100 deals of Turn 1 with a Normal shuffle, a budget of 1,000,000 nodes
+ * per deal, a table of 2^22 positions and deal numbers starting at 1. With {@code compareKeys}
+ * set to {@code true}, every deal is solved a second time with plain position hashes instead of
+ * canonical keys, and the reduction in distinct positions visited is reported.
+ * </p>
+ *
+ * @author Emmanuel Simbulan
+ */
+public class SolverRunner {
+
+    /**
+     * The main method solves the deals and prints the summary.
+     *
+     * @param args the optional number of deals, turn mode, shuffle choice, node budget, table size, first deal number
+     *             and key comparison flag.
+     */
+    public static void main(String[] args) {
+        int deals = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int turnMode = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int shuffleChoice = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long nodeBudget = args.length > 3 ? Long.parseLong(args[3]) : 1_000_000L;
+        int tableBits = args.length > 4 ? Integer.parseInt(args[4]) : 22;
+        long firstDealNumber = args.length > 5 ? Long.parseLong(args[5]) : 1L;
+        boolean compareKeys = args.length > 6 && Boolean.parseBoolean(args[6]);
+
+        DeckInitializer deckInitializer = new DeckInitializer();
+        GameState gameState = new GameState();
+        gameState.setRenderingEnabled(false);
+        gameState.setTurnMode(turnMode);
+        KlondikeSolver solver = new KlondikeSolver(tableBits, nodeBudget);
+        KlondikeSolver positionalSolver = null;
+        if (compareKeys) {
+            positionalSolver = new KlondikeSolver(tableBits, nodeBudget);
+            positionalSolver.setCanonicalKeys(false);
+        }
+        int[] cardOrder = new int[52];
+
+        int[] outcomeCounts = new int[KlondikeSolver.Outcome.values().length];
+        int[] deadDealCounts = new int[DeadDealDetector.Rule.values().length];
+        long totalNodes = 0;
+        long totalNanos = 0;
+        long distinctPositions = 0;
+        long positionalDistinctPositions = 0;
+        int positionalWins = 0;
+        for (int dealIndex = 0; dealIndex < deals; dealIndex++) {
+            ShuffleManager.dealCardOrder(shuffleChoice, firstDealNumber + dealIndex, cardOrder);
+            ArrayDeque<Card> shuffledDeck = ShuffleManager.arrangeDeck(deckInitializer.getDeck(), cardOrder);
+            gameState.resetGameState();
+            ShuffleManager.handleShuffledDeck(shuffledDeck, gameState);
+
+            DeadDealDetector.Rule deadDealRule = DeadDealDetector.detect(gameState);
+            if (deadDealRule != null) {
+                deadDealCounts[deadDealRule.ordinal()]++;
+                outcomeCounts[KlondikeSolver.Outcome.UNWINNABLE.ordinal()]++;
+                continue;
+            }
+            KlondikeSolver.Outcome outcome = solver.solve(gameState);
+            outcomeCounts[outcome.ordinal()]++;
+            totalNodes += solver.getNodes();
+            totalNanos += solver.getElapsedNanos();
+            distinctPositions += solver.getDistinctPositions();
+            if (positionalSolver != null) {
+                if (positionalSolver.solve(gameState) == KlondikeSolver.Outcome.WINNABLE) {
+                    positionalWins++;
+                }
+                positionalDistinctPositions += positionalSolver.getDistinctPositions();
+            }
+        }
+
+        System.out.println("Deals: " + deals);
+        for (KlondikeSolver.Outcome outcome : KlondikeSolver.Outcome.values()) {
+            System.out.println(outcome + ": " + outcomeCounts[outcome.ordinal()]);
+        }
+        for (DeadDealDetector.Rule rule : DeadDealDetector.Rule.values()) {
+            System.out.println("  rejected by " + rule + ": " + deadDealCounts[rule.ordinal()]);
+        }
+        System.out.printf("Nodes: %d (%.0f nodes/sec)%n", totalNodes, totalNanos == 0 ? 0 : totalNodes * 1e9 / totalNanos);
+        System.out.println("Distinct positions: " + distinctPositions);
+        if (positionalSolver != null) {
+            System.out.printf("Distinct positions with position hashes: %d (%d WINNABLE) | Reduction: %.2f%%%n",
+                    positionalDistinctPositions, positionalWins, positionalDistinctPositions == 0 ? 0
+                            : 100.0 * (positionalDistinctPositions - distinctPositions) / positionalDistinctPositions);
+        }
+        System.out.printf("Table: %d entries, %.1f MB%n", solver.getTable().getCapacity(),
+                solver.getTable().getMemoryBytes() / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,87 @@
+package com.svi.solitaire.main;
+
+import com.svi.solitaire.logic.MonteCarloEstimator;
+import com.svi.solitaire.logic.ShuffleManager;
+import com.svi.solitaire.vo.GameStatistics;
+
+/**
+ * The {@code WinRateEstimator} class is a non-interactive entry point that estimates the auto-play
+ * win rate of every shuffle option crossed with Turn 1 and Turn 3, using all available cores.
+ * For each combination it prints the games per second and the win rate with its 95% confidence
+ * interval, then it measures how the throughput scales from 1 to N worker threads. Deals proven
+ * unwinnable by the {@link com.svi.solitaire.logic.DeadDealDetector} are counted as lost unplayed.
+ * The Faro shuffles ignore the deal number and always deal the same game, so for them that one
+ * game is played and reported as won or lost, with no confidence interval.
+ * <p>
+ * Usage: {@code WinRateEstimator [deals] [threads] [firstDealNumber]}. The defaults are 100000
+ * deals per combination on every available processor, starting at deal number 1.
+ * </p>
+ *
+ * @author Emmanuel Simbulan
+ */
+public class WinRateEstimator {
+    private static final String[] SHUFFLE_NAMES = { "In-Faro", "Out-Faro", "Normal", "Hard" };
+    private static final double Z_95 = 1.96; // Standard normal quantile of a 95% confidence level
+
+    /**
+     * The main method runs the estimates and the scaling measurement.
+     *
+     * @param args the optional number of deals per combination, thread count and first deal number.
+     */
+    public static void main(String[] args) {
+        int deals = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long firstDealNumber = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+
+        System.out.println("Win rates over " + deals + " deals on " + threads + " threads:");
+        for (int turnMode : new int[] { 1, 3 }) {
+            for (int shuffleChoice = 1; shuffleChoice <= 4; shuffleChoice++) {
+                MonteCarloEstimator estimator = new MonteCarloEstimator(turnMode, shuffleChoice);
+                estimator.setDeadDealCheck(true);
+                if (!ShuffleManager.isRandomShuffle(shuffleChoice)) {
+                    // Every deal number gives the same game: repeating it would not make a sample
+                    GameStatistics statistics = estimator.playDeals(firstDealNumber, 1);
+                    System.out.printf("Turn %d %-9s %s (a single fixed deal)%n", turnMode,
+                            SHUFFLE_NAMES[shuffleChoice - 1], statistics.getGamesWon() > 0 ? "won" : "lost");
+                    continue;
+                }
+                long startTime = System.nanoTime();
+                GameStatistics statistics = estimator.estimate(firstDealNumber, deals, threads);
+                double elapsedSeconds = (System.nanoTime() - startTime) / 1e9;
+
+                System.out.printf("Turn %d %-9s win rate %6.2f%% [%6.2f%%, %6.2f%%] | %.0f games/sec%n",
+                        turnMode, SHUFFLE_NAMES[shuffleChoice - 1], statistics.getWinRate() * 100,
+                        statistics.getWinRateLowerBound(Z_95) * 100, statistics.getWinRateUpperBound(Z_95) * 100,
+                        deals / elapsedSeconds);
+            }
+        }
+
+        System.out.println("\nScaling (Turn 1, Normal shuffle):");
+        MonteCarloEstimator estimator = new MonteCarloEstimator(1, 3);
+        estimator.setDeadDealCheck(true);
+        double singleThreadRate = 0;
+        for (int threadCount = 1; threadCount <= threads; threadCount = nextThreadCount(threadCount, threads)) {
+            long startTime = System.nanoTime();
+            estimator.estimate(firstDealNumber, deals, threadCount);
+            double gamesPerSecond = deals / ((System.nanoTime() - startTime) / 1e9);
+            if (threadCount == 1) {
+                singleThreadRate = gamesPerSecond;
+            }
+            System.out.printf("%3d threads: %10.0f games/sec (%.2fx)%n", threadCount, gamesPerSecond, gamesPerSecond / singleThreadRate);
+        }
+    }
+
+    /**
+     * Doubles the thread count, making sure the maximum itself is measured last.
+     *
+     * @param threadCount the thread count just measured.
+     * @param maxThreads  the largest thread count to measure.
+     * @return the next thread count, greater than {@code maxThreads} once the maximum has been measured.
+     */
+    private static int nextThreadCount(int threadCount, int maxThreads) {
+        if (threadCount == maxThreads) {
+            return maxThreads + 1;
+        }
+        return Math.min(threadCount * 2, maxThreads);
+    }
+}
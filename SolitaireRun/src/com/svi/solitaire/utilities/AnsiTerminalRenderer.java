@@ -0,0 +1,227 @@
+package com.svi.solitaire.utilities;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * A {@link GameRenderer} for watching auto-play live in an ANSI terminal.
+ * <p>
+ * The board keeps the {@link CardRenderer} layout, but it is drawn in place: every frame is
+ * compared line by line with the previous one and only the lines that changed are rewritten,
+ * using ANSI cursor positioning. Frames are capped at a fixed rate. The steps played between two
+ * frames are not drawn, so their moves are merged into the next frame. The game is never made to
+ * wait for the terminal.
+ * </p>
+ */
+public class AnsiTerminalRenderer implements GameRenderer {
+    private static final String CSI = "\u001B["; // ANSI control sequence introducer
+
+    private final Appendable output;
+    private final long frameIntervalNanos;
+    private long lastFrameTime;
+    private boolean firstFrame = true;
+    private int framesDrawn;
+
+    private int moveNumber;
+    private String lastMessage = "";
+
+    // The frame being drawn and the one on screen, with the offset at which each of their lines starts
+    private StringBuilder frame = new StringBuilder(2048);
+    private StringBuilder previousFrame = new StringBuilder(2048);
+    private int[] lineStarts = new int[64];
+    private int[] previousLineStarts = new int[64];
+    private int lineCount;
+    private int previousLineCount;
+
+    private final StringBuilder screen = new StringBuilder(4096); // The escape sequences and text written per frame
+
+    /**
+     * Creates a terminal renderer.
+     *
+     * @param output          the terminal output, usually {@code System.out}.
+     * @param framesPerSecond the largest number of frames drawn per second.
+     * @throws IllegalArgumentException if the frame rate is not positive.
+     */
+    public AnsiTerminalRenderer(Appendable output, int framesPerSecond) {
+        if (framesPerSecond < 1) {
+            throw new IllegalArgumentException("Frame rate must be positive: " + framesPerSecond);
+        }
+        this.output = output;
+        this.frameIntervalNanos = 1_000_000_000L / framesPerSecond;
+    }
+
+    /**
+     * Gets the number of frames drawn so far.
+     *
+     * @return the frame count.
+     */
+    public int getFramesDrawn() {
+        return framesDrawn;
+    }
+
+    /**
+     * Gets the verbosity of this renderer, which draws some of the moves.
+     *
+     * @return {@link RenderLevel#EVERY_NTH_MOVE}.
+     */
+    @Override
+    public RenderLevel getLevel() {
+        return RenderLevel.EVERY_NTH_MOVE;
+    }
+
+    /**
+     * Checks whether the frame interval has passed since the last frame was drawn.
+     *
+     * @param step the auto-play step, from 1 for the first move of the game.
+     * @return {@code true} if the step is drawn; otherwise, {@code false}.
+     */
+    @Override
+    public boolean isStepRendered(int step) {
+        return firstFrame || System.nanoTime() - lastFrameTime >= frameIntervalNanos;
+    }
+
+    @Override
+    public void renderBoard(GameState gameState) {
+        drawFrame(gameState);
+    }
+
+    @Override
+    public void beginMove(int moveNumber) {
+        this.moveNumber = moveNumber;
+    }
+
+    @Override
+    public void message(String message) {
+        lastMessage = message;
+    }
+
+    /**
+     * Does nothing, since the talon is redrawn with the rest of the board at the end of the step.
+     *
+     * @param gameState the game to show.
+     */
+    @Override
+    public void renderTalon(GameState gameState) {
+        // Drawn with the frame
+    }
+
+    @Override
+    public void endMove(GameState gameState) {
+        drawFrame(gameState);
+    }
+
+    @Override
+    public void endGame(GameState gameState, String outcome) {
+        lastMessage = outcome;
+        drawFrame(gameState);
+        write(screen.append(CSI).append(lineCount + 1).append(";1H")); // Leave the cursor below the board
+    }
+
+    /**
+     * Lays out the board and rewrites the lines that differ from the frame on screen.
+     *
+     * @param gameState the game to draw.
+     */
+    private void drawFrame(GameState gameState) {
+        frame.setLength(0);
+        if (moveNumber == 0) {
+            frame.append("============ Deal ============\n"); // The initial board, before any move
+        } else {
+            frame.append("============ Move ").append(moveNumber).append(" ============\n");
+        }
+        frame.append(lastMessage).append('\n');
+        CardRenderer.appendStatus(frame, gameState.getMoves(), gameState.getTalon().getTalonSize(),
+                gameState.getPassesThroughTalon());
+        CardRenderer.appendTableau(frame, gameState.getTableau());
+        CardRenderer.appendFoundation(frame, gameState.getFoundation());
+        CardRenderer.appendTalon(frame, gameState.getTalon(), gameState.getTurnMode());
+        indexLines();
+
+        if (firstFrame) {
+            screen.append(CSI).append("2J"); // Clear the screen once
+        }
+        for (int lineIndex = 0; lineIndex < lineCount; lineIndex++) {
+            if (firstFrame || lineIndex >= previousLineCount || !isLineUnchanged(lineIndex)) {
+                screen.append(CSI).append(lineIndex + 1).append(";1H");
+                screen.append(frame, lineStarts[lineIndex], lineStarts[lineIndex + 1] - 1);
+                screen.append(CSI).append('K'); // Clear what is left of the previous line
+            }
+        }
+        for (int lineIndex = lineCount; lineIndex < previousLineCount; lineIndex++) {
+            screen.append(CSI).append(lineIndex + 1).append(";1H").append(CSI).append('K');
+        }
+        write(screen);
+
+        // The frame just drawn becomes the one on screen
+        StringBuilder drawnFrame = frame;
+        frame = previousFrame;
+        previousFrame = drawnFrame;
+        int[] drawnLineStarts = lineStarts;
+        lineStarts = previousLineStarts;
+        previousLineStarts = drawnLineStarts;
+        previousLineCount = lineCount;
+
+        firstFrame = false;
+        lastFrameTime = System.nanoTime();
+        framesDrawn++;
+    }
+
+    /**
+     * Records where each line of the frame starts; entry {@code lineCount} is one past the last newline.
+     */
+    private void indexLines() {
+        lineCount = 0;
+        lineStarts[0] = 0;
+        for (int charIndex = 0; charIndex < frame.length(); charIndex++) {
+            if (frame.charAt(charIndex) == '\n') {
+                if (lineCount + 2 > lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+                    previousLineStarts = Arrays.copyOf(previousLineStarts, lineStarts.length);
+                }
+                lineStarts[++lineCount] = charIndex + 1;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a line of the frame is the same as the line on screen.
+     *
+     * @param lineIndex the line index, below the line count of both frames.
+     * @return {@code true} if both lines have the same text; otherwise, {@code false}.
+     */
+    private boolean isLineUnchanged(int lineIndex) {
+        int start = lineStarts[lineIndex];
+        int length = lineStarts[lineIndex + 1] - start;
+        int previousStart = previousLineStarts[lineIndex];
+        if (previousLineStarts[lineIndex + 1] - previousStart != length) {
+            return false;
+        }
+        for (int offset = 0; offset < length; offset++) {
+            if (frame.charAt(start + offset) != previousFrame.charAt(previousStart + offset)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the escape sequences of a frame to the terminal in one call and empties them.
+     *
+     * @param text the text to write.
+     */
+    private void write(StringBuilder text) {
+        try {
+            output.append(text);
+            if (output instanceof Flushable) {
+                ((Flushable) output).flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to the terminal.", e);
+        }
+        text.setLength(0);
+    }
+}
@@ -0,0 +1,162 @@
+package com.svi.solitaire.utilities;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * A {@link GameRenderer} that lays out each frame in a single reused {@link StringBuilder}
+ * with the {@link CardRenderer} append methods and writes it to any {@link Appendable}
+ * in one call, such as {@code System.out}, a {@link java.io.Writer} or another builder.
+ * <p>
+ * At {@link RenderLevel#EVERY_MOVE} the output is the same as the console rendering of
+ * {@link CardRenderer}. At {@link RenderLevel#EVERY_NTH_MOVE} only every Nth auto-play step is
+ * shown, at {@link RenderLevel#SUMMARY} only the outcome and final counters, and at
+ * {@link RenderLevel#SILENT} nothing at all.
+ * </p>
+ */
+public class BufferedRenderer implements GameRenderer {
+    private final Appendable output;
+    private final RenderLevel level;
+    private final int interval;
+    private final StringBuilder buffer = new StringBuilder(2048); // Reused for every frame
+
+    /**
+     * Creates a renderer that shows every step its level allows.
+     *
+     * @param output the destination of the rendered text.
+     * @param level  the verbosity of the renderer.
+     */
+    public BufferedRenderer(Appendable output, RenderLevel level) {
+        this(output, level, 1);
+    }
+
+    /**
+     * Creates a renderer that, at {@link RenderLevel#EVERY_NTH_MOVE}, shows one step out of {@code interval}.
+     *
+     * @param output   the destination of the rendered text.
+     * @param level    the verbosity of the renderer.
+     * @param interval the number of steps between two rendered steps.
+     * @throws IllegalArgumentException if the interval is not positive.
+     */
+    public BufferedRenderer(Appendable output, RenderLevel level, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Render interval must be positive: " + interval);
+        }
+        this.output = output;
+        this.level = level;
+        this.interval = interval;
+    }
+
+    /**
+     * Creates a renderer that shows every move on the console.
+     *
+     * @return the console renderer.
+     */
+    public static BufferedRenderer console() {
+        return new BufferedRenderer(System.out, RenderLevel.EVERY_MOVE);
+    }
+
+    /**
+     * Creates a renderer that shows nothing.
+     *
+     * @return the silent renderer.
+     */
+    public static BufferedRenderer silent() {
+        return new BufferedRenderer(System.out, RenderLevel.SILENT);
+    }
+
+    @Override
+    public RenderLevel getLevel() {
+        return level;
+    }
+
+    @Override
+    public boolean isStepRendered(int step) {
+        switch (level) {
+            case EVERY_MOVE:
+                return true;
+            case EVERY_NTH_MOVE:
+                return step % interval == 0;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void renderBoard(GameState gameState) {
+        if (level.showsMoves()) {
+            appendBoard(gameState);
+            flush();
+        }
+    }
+
+    @Override
+    public void beginMove(int moveNumber) {
+        buffer.append("\n============ Move ").append(moveNumber).append(" ============\n\n");
+    }
+
+    @Override
+    public void message(String message) {
+        buffer.append(message).append('\n');
+    }
+
+    @Override
+    public void renderTalon(GameState gameState) {
+        CardRenderer.appendTalon(buffer, gameState.getTalon(), gameState.getTurnMode());
+    }
+
+    @Override
+    public void endMove(GameState gameState) {
+        appendStatus(gameState);
+        appendBoard(gameState);
+        flush();
+    }
+
+    @Override
+    public void endGame(GameState gameState, String outcome) {
+        if (level == RenderLevel.SILENT) {
+            return;
+        }
+        message(outcome);
+        if (level != RenderLevel.EVERY_MOVE || gameState.isGameWon()) {
+            appendStatus(gameState);
+        }
+        if (level.showsMoves() && gameState.isGameWon()) {
+            appendBoard(gameState);
+        }
+        flush();
+        if (output instanceof Flushable) {
+            try {
+                ((Flushable) output).flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to flush the rendered game.", e);
+            }
+        }
+    }
+
+    private void appendStatus(GameState gameState) {
+        CardRenderer.appendStatus(buffer, gameState.getMoves(), gameState.getTalon().getTalonSize(),
+                gameState.getPassesThroughTalon());
+    }
+
+    private void appendBoard(GameState gameState) {
+        CardRenderer.appendTableau(buffer, gameState.getTableau());
+        CardRenderer.appendFoundation(buffer, gameState.getFoundation());
+        CardRenderer.appendTalon(buffer, gameState.getTalon(), gameState.getTurnMode());
+    }
+
+    /**
+     * Writes the buffered frame to the output and empties the buffer.
+     */
+    private void flush() {
+        try {
+            output.append(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the rendered game.", e);
+        }
+        buffer.setLength(0);
+    }
+}
@@ -1,15 +1,21 @@
 package com.svi.solitaire.utilities;
 
 import com.svi.solitaire.vo.Card;
+import com.svi.solitaire.vo.TableauPile;
+import com.svi.solitaire.vo.TalonPile;
 import com.svi.solitaire.logic.TurnModeHandler; // Import TurnModeHandler
 import java.util.ArrayDeque;
 import java.util.List;
-import java.util.Stack;
 
 /**
  * The {@code CardRenderer} class provides methods for rendering various elements
  * of the Klondike Solitaire game, including the tableau, foundation piles, and talon.
  * It outputs the current state of these elements to the console for display.
+ * <p>
+ * Every element can also be appended to a {@link StringBuilder} instead, so that renderers
+ * such as {@link BufferedRenderer} can lay out a whole frame in one reused buffer and write
+ * it out at once. The console methods print exactly what the append methods build.
+ * </p>
  */
 public class CardRenderer {
 
@@ -17,36 +23,43 @@ public class CardRenderer {
      * Renders the tableau, displaying each column with cards.
      * Each column shows the face-up and face-down cards in proper alignment.
      * 
-     * @param tableau A list of ArrayDeque objects representing the tableau columns,
+     * @param tableau A list of {@link TableauPile} objects representing the tableau columns,
      *                where each column holds a stack of {@link Card} objects.
      */
-    public static void renderTableau(List<ArrayDeque<Card>> tableau) {
-        System.out.println("\nTableau:");
-        
+    public static void renderTableau(List<TableauPile> tableau) {
+        StringBuilder output = new StringBuilder();
+        appendTableau(output, tableau);
+        System.out.print(output);
+    }
+
+    /**
+     * Appends the tableau, each column showing its face-down cards first, followed by its face-up cards.
+     *
+     * @param output  the buffer to append to.
+     * @param tableau the tableau columns.
+     */
+    public static void appendTableau(StringBuilder output, List<TableauPile> tableau) {
+        output.append("\nTableau:\n");
+
         for (int columnIndex = 0; columnIndex < tableau.size(); columnIndex++) {
-            System.out.print("Column " + (columnIndex + 1) + ": ");
-            ArrayDeque<Card> column = tableau.get(columnIndex);
-            
+            output.append("Column ").append(columnIndex + 1).append(": ");
+            TableauPile column = tableau.get(columnIndex);
+
             if (column.isEmpty()) {
-                System.out.print("[Empty]");
+                output.append("[Empty]");
             } else {
-                // Separate closed and open cards for proper alignment
-                StringBuilder closedCards = new StringBuilder();
-                StringBuilder openCards = new StringBuilder();
-
-                for (Card card : column) {
-                    if (card.isFaceUp()) {
-                        openCards.append(card).append(" ");
-                    } else {
-                        closedCards.append("[XX] ");
+                // Closed cards first, followed by the open cards separated by single spaces
+                for (int cardIndex = 0; cardIndex < column.getFaceDownCount(); cardIndex++) {
+                    output.append("[XX] ");
+                }
+                for (int cardIndex = column.getFaceDownCount(); cardIndex < column.size(); cardIndex++) {
+                    if (cardIndex > column.getFaceDownCount()) {
+                        output.append(' ');
                     }
+                    output.append(column.get(cardIndex).toString());
                 }
-
-                // Print closed cards first, followed by open cards
-                System.out.print(closedCards.toString());
-                System.out.print(openCards.toString().trim());
             }
-            System.out.println();
+            output.append('\n');
         }
     }
 
@@ -57,64 +70,88 @@ public class CardRenderer {
      *                  where each pile holds a stack of {@link Card} objects.
      */
     public static void renderFoundation(List<ArrayDeque<Card>> foundation) {
-        System.out.println("\nFoundation Piles:");
-        
+        StringBuilder output = new StringBuilder();
+        appendFoundation(output, foundation);
+        System.out.print(output);
+    }
+
+    /**
+     * Appends the foundation piles, each with its top card first.
+     *
+     * @param output     the buffer to append to.
+     * @param foundation the foundation piles.
+     */
+    public static void appendFoundation(StringBuilder output, List<ArrayDeque<Card>> foundation) {
+        output.append("\nFoundation Piles:\n");
+
         for (int pileIndex = 0; pileIndex < foundation.size(); pileIndex++) {
-            System.out.print("Foundation " + (pileIndex + 1) + ": ");
+            output.append("Foundation ").append(pileIndex + 1).append(": ");
             ArrayDeque<Card> pile = foundation.get(pileIndex);
-            
+
             if (pile.isEmpty()) {
-                System.out.print("[Empty]");
+                output.append("[Empty]");
             } else {
-                // Print all cards in the foundation pile
+                // Append all cards in the foundation pile
                 for (Card card : pile) {
-                    System.out.print(card + " ");
+                    output.append(card.toString()).append(' ');
                 }
             }
-            System.out.println();
+            output.append('\n');
         }
     }
 
     /**
      * Renders the talon pile based on the turn mode from the {@link TurnModeHandler}.
-     * Displays either one or three cards depending on the current turn mode.
+     * Displays either one or three cards from the top of the waste depending on the current turn mode,
+     * the playable card last.
      * 
-     * @param talon The talon pile, represented as an {@link ArrayDeque} of {@link Card} objects.
+     * @param talon The {@link TalonPile} holding the talon and the waste.
      * @param turnModeHandler The {@link TurnModeHandler} that determines whether cards are dealt in turn 1 or turn 3 mode.
      */
-    public static void renderTalon(ArrayDeque<Card> talon, TurnModeHandler turnModeHandler) {
-        System.out.print("\nTalon Card: ");
-        
-        if (talon.isEmpty()) {
-            System.out.print("[Empty]");
-        } else {
-            TurnModeHandler.TurnMode currentTurnMode = turnModeHandler.getTurnMode(); // Get the current turn mode as enum
-
-            if (currentTurnMode == TurnModeHandler.TurnMode.TURN_1) {  // Turn 1 mode
-                Card topCard = talon.peek();  // Get the top card from the talon
-                System.out.print(topCard + " ");
-            } else if (currentTurnMode == TurnModeHandler.TurnMode.TURN_3) {  // Turn 3 mode
-                // Indicate more cards are available by printing '[...]'
-                System.out.print("[...] ");
+    public static void renderTalon(TalonPile talon, TurnModeHandler turnModeHandler) {
+        StringBuilder output = new StringBuilder();
+        appendTalon(output, talon, turnModeHandler.getTurnMode());
+        System.out.print(output);
+    }
 
-                // Render the first 3 cards in the talon
-                int cardCount = 0;
-                ArrayDeque<Card> remainingCards = new ArrayDeque<>(talon);
+    /**
+     * Appends the top one or three cards of the waste depending on the turn mode, the playable card last.
+     *
+     * @param output   the buffer to append to.
+     * @param talon    the talon and waste.
+     * @param turnMode the turn mode of the game.
+     */
+    public static void appendTalon(StringBuilder output, TalonPile talon, TurnModeHandler.TurnMode turnMode) {
+        output.append("\nTalon Card: ");
 
-                // Collect the last 3 cards in reverse order
-                Stack<Card> lastThreeCards = new Stack<>();
-                while (cardCount < 3 && !remainingCards.isEmpty()) {
-                    Card talonCard = remainingCards.poll();  // Get the next card
-                    lastThreeCards.push(talonCard);  // Push it to a stack (reverse order)
-                    cardCount++;
-                }
+        if (talon.getWasteSize() == 0) {
+            output.append(talon.isEmpty() ? "[Empty]" : "[...]");
+        } else if (turnMode == TurnModeHandler.TurnMode.TURN_1) {  // Turn 1 mode
+            output.append(talon.peekWasteTop().toString()).append(' ');
+        } else if (turnMode == TurnModeHandler.TurnMode.TURN_3) {  // Turn 3 mode
+            // Indicate more cards are available by printing '[...]'
+            output.append("[...] ");
 
-                // Print the last 3 cards in reverse order (since Stack pops in reverse order)
-                while (!lastThreeCards.isEmpty()) {
-                    System.out.print(lastThreeCards.pop() + " ");  // Print the cards in reverse order
-                }
+            // Append the last 3 cards dealt, in dealing order so the playable card comes last
+            int firstCard = Math.max(0, talon.getWasteSize() - 3);
+            for (int cardIndex = firstCard; cardIndex < talon.getWasteSize(); cardIndex++) {
+                output.append(talon.get(cardIndex).toString()).append(' ');
             }
         }
-        System.out.println();
+        output.append('\n');
+    }
+
+    /**
+     * Appends the move counter, talon size and passes through the talon.
+     *
+     * @param output     the buffer to append to.
+     * @param moves      the number of moves made.
+     * @param talonSize  the number of cards left in the talon.
+     * @param passes     the passes through the talon.
+     */
+    public static void appendStatus(StringBuilder output, int moves, int talonSize, int passes) {
+        output.append("\nMoves: ").append(moves).append('\n');
+        output.append("Talon Size: ").append(talonSize).append('\n');
+        output.append("Passthrus: ").append(passes).append('\n');
     }
 }
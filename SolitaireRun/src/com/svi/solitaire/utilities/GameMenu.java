@@ -2,6 +2,7 @@ package com.svi.solitaire.utilities;
 
 import java.util.ArrayDeque;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 import com.svi.solitaire.resources.GameInfo;
 import com.svi.solitaire.logic.DeckInitializer;
 import com.svi.solitaire.logic.ShuffleManager;
@@ -15,11 +16,13 @@ import com.svi.solitaire.vo.GameState;
  * and handling game settings and outcomes.
  */
 public class GameMenu {
+    private static final int SPECTATOR_FRAMES_PER_SECOND = 30; // Redraw cap of spectator mode
     private Scanner userInput;
     private GameInfo about;
     private DeckInitializer deckInitializer;
     private TurnModeHandler turnModeHandler;
     private boolean shuffleDisplaySetting; // Setting to control shuffle display
+    private boolean spectatorModeSetting; // Setting to watch auto-play redrawn in place
     private GameState gameState; // GameState instance
 
     /**
@@ -35,6 +38,7 @@ public class GameMenu {
         this.deckInitializer = deckInitializer;
         this.turnModeHandler = new TurnModeHandler();
         this.shuffleDisplaySetting = false; // Default is off
+        this.spectatorModeSetting = false; // Default is off
         this.gameState = new GameState(); // Initialize GameState without TurnModeHandler
     }
 
@@ -88,6 +92,11 @@ public class GameMenu {
                 // Print the shuffled deck if shuffle display is enabled
                 handleShuffledDeck(shuffledDeck);
 
+                // Pick the renderer first, so that the initial board is drawn by it as well
+                gameState.setRenderer(spectatorModeSetting
+                        ? new AnsiTerminalRenderer(System.out, SPECTATOR_FRAMES_PER_SECOND)
+                        : BufferedRenderer.console());
+
                 // Reset the game state before distributing new cards
                 gameState.resetGameState();
                 ShuffleManager.handleShuffledDeck(shuffledDeck, gameState); // Handle distribution of cards
@@ -202,21 +211,22 @@ public class GameMenu {
         switch (shuffleChoice) {
             case 1:
                 System.out.println("Starting In-Faro Shuffle for Turn " + turnMode + "...\n");
-                currentDeck = ShuffleManager.inFaroShuffle(currentDeck);
                 break;
             case 2:
                 System.out.println("Starting Out-Faro Shuffle for Turn " + turnMode + "...\n");
-                currentDeck = ShuffleManager.outFaroShuffle(currentDeck);
                 break;
             case 3:
                 System.out.println("Starting Normal Shuffle for Turn " + turnMode + "...\n");
-                currentDeck = ShuffleManager.normalShuffle(currentDeck);
                 break;
             case 4:
             	System.out.println("Starting Hard Shuffle for Turn " + turnMode + "...\n");
-                currentDeck = ShuffleManager.hardShuffle(currentDeck);
                 break;
         }
+        long dealNumber = ThreadLocalRandom.current().nextLong(); // Every random deal gets a reproducible number
+        if (shuffleChoice == 3 || shuffleChoice == 4) {
+            System.out.println("Deal number: " + dealNumber + "\n");
+        }
+        currentDeck = ShuffleManager.shuffle(currentDeck, shuffleChoice, dealNumber);
 
         return currentDeck;
     }
@@ -229,14 +239,18 @@ public class GameMenu {
         while (inSettingsMenu) {
             String prompt = "\n============= SETTINGS =============\n"
                     + "(1) Show Shuffle Deck [ON/OFF]\n"
-                    + "(2) RETURN BACK";
-            int userChoice = getValidInput(prompt, 1, 2);
+                    + "(2) Spectator Mode [ON/OFF]\n"
+                    + "(3) RETURN BACK";
+            int userChoice = getValidInput(prompt, 1, 3);
 
             switch (userChoice) {
                 case 1:
                     toggleShuffleDisplaySetting();
                     break;
                 case 2:
+                    toggleSpectatorModeSetting();
+                    break;
+                case 3:
                     inSettingsMenu = false;
                     break;
             }
@@ -252,6 +266,16 @@ public class GameMenu {
         System.out.println("\nShuffle Deck Display is now " + status);
     }
 
+    /**
+     * Toggles spectator mode, which redraws the board in place in an ANSI terminal
+     * instead of printing it again after every move.
+     */
+    public void toggleSpectatorModeSetting() {
+        spectatorModeSetting = !spectatorModeSetting; // Toggle between true and false
+        String status = spectatorModeSetting ? "ON" : "OFF";
+        System.out.println("\nSpectator Mode is now " + status);
+    }
+
     /**
      * Prints the shuffled deck if the shuffle display setting is enabled.
      *
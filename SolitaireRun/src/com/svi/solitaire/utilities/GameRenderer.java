@@ -0,0 +1,72 @@
+package com.svi.solitaire.utilities;
+
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * Receives the progress of an auto-played game and shows as much of it as its {@link RenderLevel} asks for.
+ * <p>
+ * A {@link GameState} asks {@link #isStepRendered(int)} before each auto-play step and only
+ * builds move descriptions and messages for the steps that are rendered, so a silent or summary
+ * renderer costs the game nothing per move.
+ * </p>
+ */
+public interface GameRenderer {
+
+    /**
+     * Gets the verbosity of this renderer.
+     *
+     * @return the render level.
+     */
+    RenderLevel getLevel();
+
+    /**
+     * Checks whether an auto-play step is shown.
+     *
+     * @param step the auto-play step, from 1 for the first move of the game.
+     * @return {@code true} if the step is shown; otherwise, {@code false}.
+     */
+    boolean isStepRendered(int step);
+
+    /**
+     * Shows the whole board, used for the initial deal.
+     *
+     * @param gameState the game to show.
+     */
+    void renderBoard(GameState gameState);
+
+    /**
+     * Starts showing a rendered step.
+     *
+     * @param moveNumber the number of the move about to be played.
+     */
+    void beginMove(int moveNumber);
+
+    /**
+     * Shows a line of text belonging to the rendered step.
+     *
+     * @param message the message to show.
+     */
+    void message(String message);
+
+    /**
+     * Shows the talon and waste, used after the waste is turned back over.
+     *
+     * @param gameState the game to show.
+     */
+    void renderTalon(GameState gameState);
+
+    /**
+     * Finishes a rendered step, showing the counters and the board after the move.
+     *
+     * @param gameState the game to show.
+     */
+    void endMove(GameState gameState);
+
+    /**
+     * Shows the outcome of the game and writes out anything still buffered.
+     *
+     * @param gameState the finished game.
+     * @param outcome   the message describing how the game ended.
+     */
+    void endGame(GameState gameState, String outcome);
+}
@@ -0,0 +1,98 @@
+package com.svi.solitaire.utilities;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.svi.solitaire.vo.GameRecord;
+
+/**
+ * Reads back the games of a binary move log written by {@link MoveLogWriter}, one at a time.
+ */
+public class MoveLogReader implements Closeable {
+    private final DataInputStream input;
+
+    /**
+     * Opens a log on a stream and checks its header.
+     *
+     * @param input the stream to read from.
+     * @throws IOException if the stream cannot be read or is not a move log.
+     */
+    public MoveLogReader(InputStream input) throws IOException {
+        this.input = new DataInputStream(new BufferedInputStream(input));
+        if (this.input.readInt() != MoveLogWriter.MAGIC) {
+            throw new IOException("Not a move log.");
+        }
+        int version = this.input.readUnsignedByte();
+        if (version != MoveLogWriter.VERSION) {
+            throw new IOException("Unsupported move log version: " + version);
+        }
+    }
+
+    /**
+     * Opens a log file.
+     *
+     * @param file the log file.
+     * @return the reader.
+     * @throws IOException if the file cannot be read or is not a move log.
+     */
+    public static MoveLogReader open(Path file) throws IOException {
+        return new MoveLogReader(Files.newInputStream(file));
+    }
+
+    /**
+     * Reads the next game of the log.
+     *
+     * @return the game record, or {@code null} at the end of the log.
+     * @throws IOException if the log cannot be read or ends in the middle of a game.
+     */
+    public GameRecord readGame() throws IOException {
+        int firstByte = input.read();
+        if (firstByte < 0) {
+            return null;
+        }
+        try {
+            long dealNumber = firstByte; // The end of the log is only allowed before a game, so its first byte is read apart
+            for (int byteIndex = 1; byteIndex < Long.BYTES; byteIndex++) {
+                dealNumber = dealNumber << 8 | input.readUnsignedByte();
+            }
+            return readRecord(dealNumber);
+        } catch (EOFException e) {
+            throw new IOException("The move log ends in the middle of a game.", e);
+        }
+    }
+
+    private GameRecord readRecord(long dealNumber) throws IOException {
+        int turnMode = input.readUnsignedByte();
+        int shuffleChoice = input.readUnsignedByte();
+        int[] moves = new int[128];
+        int moveCount = 0;
+        while (true) {
+            int entry = input.readUnsignedByte() | input.readUnsignedByte() << 8 | input.readUnsignedByte() << 16;
+            if (entry == 0) {
+                break;
+            }
+            if (moveCount == moves.length) {
+                moves = Arrays.copyOf(moves, moveCount * 2);
+            }
+            moves[moveCount++] = entry;
+        }
+        return new GameRecord(dealNumber, turnMode, shuffleChoice, Arrays.copyOf(moves, moveCount));
+    }
+
+    /**
+     * Closes the log.
+     *
+     * @throws IOException if the log cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
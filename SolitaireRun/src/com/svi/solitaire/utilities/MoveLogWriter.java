@@ -0,0 +1,142 @@
+package com.svi.solitaire.utilities;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * Writes an append-only binary log of played games, three bytes per move.
+ * <p>
+ * A log starts with the magic number {@code KLML} and a version byte, followed by one record
+ * per game:
+ * <ul>
+ *     <li>the deal number (8 bytes), turn mode (1 byte) and shuffle choice (1 byte) of the game;</li>
+ *     <li>every move as its {@link GameState} journal entry in 3 little-endian bytes, since the
+ *         move type, source, target, card count and flip bit fit in 18 bits;</li>
+ *     <li>three zero bytes ending the game, since no move has type 0.</li>
+ * </ul>
+ * Games are written as they are played and a log can be reopened to add more games.
+ * Read logs back with {@link MoveLogReader}.
+ * </p>
+ */
+public class MoveLogWriter implements Closeable {
+    static final int MAGIC = 0x4B4C4D4C; // "KLML"
+    static final int VERSION = 1;
+
+    private final DataOutputStream output;
+    private boolean inGame;
+
+    /**
+     * Starts a new log on a stream, writing the log header.
+     *
+     * @param output the stream to write to.
+     * @throws IOException if the header cannot be written.
+     */
+    public MoveLogWriter(OutputStream output) throws IOException {
+        this(output, true);
+    }
+
+    private MoveLogWriter(OutputStream output, boolean writeHeader) throws IOException {
+        this.output = new DataOutputStream(new BufferedOutputStream(output));
+        if (writeHeader) {
+            this.output.writeInt(MAGIC);
+            this.output.writeByte(VERSION);
+        }
+    }
+
+    /**
+     * Opens a log file for appending games, creating it with a header if it does not exist or is empty.
+     *
+     * @param file the log file.
+     * @return the writer.
+     * @throws IOException if the file cannot be opened.
+     */
+    public static MoveLogWriter open(Path file) throws IOException {
+        boolean newLog = !Files.exists(file) || Files.size(file) == 0;
+        OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return new MoveLogWriter(stream, newLog);
+    }
+
+    /**
+     * Starts the record of a game.
+     *
+     * @param dealNumber    the deal number the game was dealt from.
+     * @param turnMode      the turn mode (1 or 3).
+     * @param shuffleChoice the shuffle menu option (1 to 4).
+     * @throws IOException if the record cannot be written.
+     * @throws IllegalStateException if the previous game was not ended.
+     */
+    public void beginGame(long dealNumber, int turnMode, int shuffleChoice) throws IOException {
+        if (inGame) {
+            throw new IllegalStateException("The previous game has not been ended.");
+        }
+        output.writeLong(dealNumber);
+        output.writeByte(turnMode);
+        output.writeByte(shuffleChoice);
+        inGame = true;
+    }
+
+    /**
+     * Writes a move of the current game.
+     *
+     * @param entry the journal entry of the move.
+     * @throws IOException if the move cannot be written.
+     */
+    public void writeMove(int entry) throws IOException {
+        if (!inGame) {
+            throw new IllegalStateException("No game has been begun.");
+        }
+        output.writeByte(entry);
+        output.writeByte(entry >>> 8);
+        output.writeByte(entry >>> 16);
+    }
+
+    /**
+     * Ends the record of the current game.
+     *
+     * @throws IOException if the end marker cannot be written.
+     */
+    public void endGame() throws IOException {
+        if (!inGame) {
+            throw new IllegalStateException("No game has been begun.");
+        }
+        output.writeByte(0);
+        output.writeByte(0);
+        output.writeByte(0);
+        inGame = false;
+    }
+
+    /**
+     * Writes the whole record of a game from the undo journal of its game state.
+     *
+     * @param dealNumber    the deal number the game was dealt from.
+     * @param turnMode      the turn mode (1 or 3).
+     * @param shuffleChoice the shuffle menu option (1 to 4).
+     * @param gameState     the game, whose journal holds every move played since the deal.
+     * @throws IOException if the record cannot be written.
+     */
+    public void writeGame(long dealNumber, int turnMode, int shuffleChoice, GameState gameState) throws IOException {
+        beginGame(dealNumber, turnMode, shuffleChoice);
+        for (int moveIndex = 0; moveIndex < gameState.getJournalSize(); moveIndex++) {
+            writeMove(gameState.getJournalEntry(moveIndex));
+        }
+        endGame();
+    }
+
+    /**
+     * Flushes the buffered records and closes the log.
+     *
+     * @throws IOException if the log cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
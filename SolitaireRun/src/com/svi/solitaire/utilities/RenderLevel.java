@@ -0,0 +1,27 @@
+package com.svi.solitaire.utilities;
+
+/**
+ * The {@code RenderLevel} enum sets how much of a game a {@link GameRenderer} shows.
+ */
+public enum RenderLevel {
+    /** Nothing is shown. */
+    SILENT,
+
+    /** Only the outcome of the game and its final counters are shown. */
+    SUMMARY,
+
+    /** The initial board, every Nth move with the board after it, and the outcome are shown. */
+    EVERY_NTH_MOVE,
+
+    /** The initial board, every move with the board after it, and the outcome are shown. */
+    EVERY_MOVE;
+
+    /**
+     * Checks whether this level shows the board while the game is being played.
+     *
+     * @return {@code true} for {@link #EVERY_NTH_MOVE} and {@link #EVERY_MOVE}; otherwise, {@code false}.
+     */
+    public boolean showsMoves() {
+        return this == EVERY_NTH_MOVE || this == EVERY_MOVE;
+    }
+}
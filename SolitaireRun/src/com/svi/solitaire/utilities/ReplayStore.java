@@ -0,0 +1,213 @@
+package com.svi.solitaire.utilities;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.svi.solitaire.logic.GameReplayer;
+import com.svi.solitaire.vo.CompactGameState;
+import com.svi.solitaire.vo.GameRecord;
+import com.svi.solitaire.vo.GameState;
+
+/**
+ * A seekable replay of the games of a move log. Every game is replayed once and a
+ * {@link CompactGameState} snapshot, with its move counter, is kept every {@code snapshotSpacing}
+ * moves. Seeking to a step restores the last snapshot at or before it and plays fewer than
+ * {@code snapshotSpacing} logged moves, instead of replaying the game from its deal.
+ * <p>
+ * The snapshots can be saved in an index file next to the move log, which starts with the magic
+ * number {@code KLRS} and a version byte, then the snapshot spacing and game count, then for every
+ * game its deal number, turn mode, shuffle choice and move count, checked against the log, and
+ * its snapshots as the move counter (4 bytes), encoded length (1 byte) and encoded position.
+ * Closer snapshots make the index larger and seeking faster.
+ * </p>
+ */
+public class ReplayStore {
+    /** The snapshot spacing used when none is given. */
+    public static final int DEFAULT_SNAPSHOT_SPACING = 64;
+
+    private static final int MAGIC = 0x4B4C5253; // "KLRS"
+    private static final int VERSION = 2; // Version 2 adds the turn mode and shuffle choice of every game
+
+    private final List<GameRecord> records;
+    private final int snapshotSpacing;
+    private final CompactGameState[][] snapshots; // Snapshot i of a game is taken after i * snapshotSpacing moves
+    private final int[][] snapshotMoves; // The move counter at each snapshot
+    private final GameState gameState = new GameState(); // The game state returned by seek
+
+    private ReplayStore(List<GameRecord> records, int snapshotSpacing) {
+        if (snapshotSpacing < 1) {
+            throw new IllegalArgumentException("Snapshot spacing must be positive: " + snapshotSpacing);
+        }
+        this.records = records;
+        this.snapshotSpacing = snapshotSpacing;
+        this.snapshots = new CompactGameState[records.size()][];
+        this.snapshotMoves = new int[records.size()][];
+        gameState.setRenderingEnabled(false);
+        for (int gameIndex = 0; gameIndex < records.size(); gameIndex++) {
+            int snapshotCount = records.get(gameIndex).getMoveCount() / snapshotSpacing + 1;
+            snapshots[gameIndex] = new CompactGameState[snapshotCount];
+            snapshotMoves[gameIndex] = new int[snapshotCount];
+        }
+    }
+
+    /**
+     * Replays the games of a move log and takes their snapshots.
+     *
+     * @param records         the logged games.
+     * @param snapshotSpacing the number of moves between two snapshots of a game.
+     * @return the replay store.
+     * @throws IllegalArgumentException if the spacing is not positive.
+     * @throws IllegalStateException if a game does not match its deal.
+     */
+    public static ReplayStore build(List<GameRecord> records, int snapshotSpacing) {
+        ReplayStore store = new ReplayStore(records, snapshotSpacing);
+        GameReplayer replayer = new GameReplayer();
+        for (int gameIndex = 0; gameIndex < records.size(); gameIndex++) {
+            GameRecord record = records.get(gameIndex);
+            GameState replayed = replayer.deal(record);
+            for (int snapshotIndex = 0; snapshotIndex < store.snapshots[gameIndex].length; snapshotIndex++) {
+                if (snapshotIndex > 0) {
+                    GameReplayer.applyMoves(replayed, record, (snapshotIndex - 1) * snapshotSpacing,
+                            snapshotIndex * snapshotSpacing);
+                }
+                store.snapshots[gameIndex][snapshotIndex] = CompactGameState.fromGameState(replayed);
+                store.snapshotMoves[gameIndex][snapshotIndex] = replayed.getMoves();
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Reads the snapshots of a move log from its index file.
+     *
+     * @param indexFile the index file.
+     * @param records   the games of the move log the index was built from.
+     * @return the replay store.
+     * @throws IOException if the file cannot be read, is not a replay index or was built from another log.
+     */
+    public static ReplayStore read(Path indexFile, List<GameRecord> records) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a replay index.");
+            }
+            int version = input.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay index version: " + version);
+            }
+            int snapshotSpacing = input.readInt();
+            if (snapshotSpacing < 1 || input.readInt() != records.size()) {
+                throw new IOException("The replay index does not match its move log.");
+            }
+            ReplayStore store = new ReplayStore(records, snapshotSpacing);
+            for (int gameIndex = 0; gameIndex < records.size(); gameIndex++) {
+                GameRecord record = records.get(gameIndex);
+                if (input.readLong() != record.getDealNumber() || input.readUnsignedByte() != record.getTurnMode()
+                        || input.readUnsignedByte() != record.getShuffleChoice() || input.readInt() != record.getMoveCount()) {
+                    throw new IOException("The replay index does not match game " + gameIndex + " of its move log.");
+                }
+                for (int snapshotIndex = 0; snapshotIndex < store.snapshots[gameIndex].length; snapshotIndex++) {
+                    store.snapshotMoves[gameIndex][snapshotIndex] = input.readInt();
+                    byte[] data = new byte[input.readUnsignedByte()];
+                    input.readFully(data);
+                    store.snapshots[gameIndex][snapshotIndex] = CompactGameState.fromByteArray(data);
+                }
+            }
+            return store;
+        }
+    }
+
+    /**
+     * Writes the snapshots to an index file, replacing it if it exists.
+     *
+     * @param indexFile the index file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path indexFile) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+            output.writeInt(snapshotSpacing);
+            output.writeInt(records.size());
+            for (int gameIndex = 0; gameIndex < records.size(); gameIndex++) {
+                GameRecord record = records.get(gameIndex);
+                output.writeLong(record.getDealNumber());
+                output.writeByte(record.getTurnMode());
+                output.writeByte(record.getShuffleChoice());
+                output.writeInt(record.getMoveCount());
+                for (int snapshotIndex = 0; snapshotIndex < snapshots[gameIndex].length; snapshotIndex++) {
+                    output.writeInt(snapshotMoves[gameIndex][snapshotIndex]);
+                    output.writeByte(snapshots[gameIndex][snapshotIndex].size());
+                    output.write(snapshots[gameIndex][snapshotIndex].toByteArray());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the conventional index file of a move log, the log file name followed by {@code .idx}.
+     *
+     * @param moveLogFile the move log file.
+     * @return the index file next to it.
+     */
+    public static Path indexFileOf(Path moveLogFile) {
+        return moveLogFile.resolveSibling(moveLogFile.getFileName() + ".idx");
+    }
+
+    /**
+     * Rebuilds a game after a number of its moves from the nearest snapshot before them.
+     * The game state returned is reused and only valid until the next seek.
+     *
+     * @param gameIndex the index of the game in the move log.
+     * @param step      the number of logged moves to play, from 0 for the deal to the game's move count.
+     * @return the game state after the moves; its undo journal holds the moves played since the snapshot.
+     * @throws IllegalArgumentException if the game index or step is out of range.
+     */
+    public GameState seek(int gameIndex, int step) {
+        if (gameIndex < 0 || gameIndex >= records.size()) {
+            throw new IllegalArgumentException("Game " + gameIndex + " out of range 0.." + (records.size() - 1));
+        }
+        GameRecord record = records.get(gameIndex);
+        if (step < 0 || step > record.getMoveCount()) {
+            throw new IllegalArgumentException("Step " + step + " out of range 0.." + record.getMoveCount());
+        }
+        int snapshotIndex = step / snapshotSpacing;
+        gameState.changeTurnMode(record.getTurnMode()); // Games of a log may differ in turn mode
+        gameState.restorePosition(snapshots[gameIndex][snapshotIndex], snapshotMoves[gameIndex][snapshotIndex]);
+        GameReplayer.applyMoves(gameState, record, snapshotIndex * snapshotSpacing, step);
+        return gameState;
+    }
+
+    /**
+     * Gets a logged game.
+     *
+     * @param gameIndex the index of the game in the move log.
+     * @return the game record.
+     */
+    public GameRecord getRecord(int gameIndex) {
+        return records.get(gameIndex);
+    }
+
+    /**
+     * Gets the number of games in the store.
+     *
+     * @return the game count.
+     */
+    public int getGameCount() {
+        return records.size();
+    }
+
+    /**
+     * Gets the number of moves between two snapshots of a game.
+     *
+     * @return the snapshot spacing.
+     */
+    public int getSnapshotSpacing() {
+        return snapshotSpacing;
+    }
+}
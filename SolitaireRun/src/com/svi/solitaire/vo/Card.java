@@ -1,10 +1,30 @@
 package com.svi.solitaire.vo;
 
+import com.svi.solitaire.logic.CardCompatibility;
+
 /**
- * Represents a playing card with a rank, suit, and face-up state.
+ * Represents a playing card with a rank and a suit.
  * This class is used to model the cards in a Klondike Solitaire game.
+ * <p>
+ * Cards are immutable flyweights: there is exactly one instance of each of the 52 cards,
+ * obtained through {@link #valueOf(Rank, Suit)} or {@link #fromId(int)}, so cards can be shared
+ * between games and threads and compared by identity. Whether a card is face-up depends on where
+ * it lies, and is tracked by the pile that holds it.
+ * </p>
  */
-public class Card {
+public final class Card {
+
+    /** The canonical instances of the 52 cards, indexed by card identifier. */
+    private static final Card[] CARDS = new Card[52];
+
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                Card card = new Card(rank, suit);
+                CARDS[card.id] = card;
+            }
+        }
+    }
 
     /** The rank of the card, represented using the {@link Rank} enum. */
     private final Rank rank;
@@ -12,20 +32,48 @@ public class Card {
     /** The suit of the card, represented using the {@link Suit} enum. */
     private final Suit suit;
 
-    /** The face-up state of the card. {@code true} if the card is face-up, {@code false} if face-down. */
-    private boolean isFaceUp;
+    /** The compact identifier of the card, from 0 to 51. */
+    private final int id;
+
+    /** The label of the card, built once so that rendering a card never creates a string. */
+    private final String label;
 
     /**
-     * Constructs a new {@code Card} with the specified rank and suit.
-     * The card is initially face-down.
+     * Constructs the {@code Card} with the specified rank and suit.
      *
      * @param rank the rank of the card (e.g., ACE, TWO, KING, etc.)
      * @param suit the suit of the card (e.g., HEARTS, SPADES, DIAMONDS, CLUBS)
      */
-    public Card(Rank rank, Suit suit) {
+    private Card(Rank rank, Suit suit) {
         this.rank = rank;
         this.suit = suit;
-        this.isFaceUp = false;  // Default to face-down
+        this.id = suit.ordinal() * 13 + rank.ordinal();
+        this.label = rank.getSymbol() + suit.getSymbol();
+    }
+
+    /**
+     * Returns the card with the specified rank and suit.
+     *
+     * @param rank the rank of the card
+     * @param suit the suit of the card
+     * @return the canonical instance of the card
+     */
+    public static Card valueOf(Rank rank, Suit suit) {
+        return CARDS[suit.ordinal() * 13 + rank.ordinal()];
+    }
+
+    /**
+     * Returns the card with the specified compact identifier.
+     *
+     * @param id the card identifier, from 0 to 51
+     * @return the canonical instance of the card
+     * @throws IllegalArgumentException if the identifier is not between 0 and 51
+     */
+    public static Card fromId(int id) {
+        if (id < 0 || id >= 52) {
+            throw new IllegalArgumentException("Invalid card id: " + id);
+        }
+        return CARDS[id];
     }
 
     /**
@@ -47,32 +95,25 @@ public class Card {
     }
 
     /**
-     * Returns whether the card is face-up.
-     *
-     * @return {@code true} if the card is face-up, {@code false} if face-down
-     */
-    public boolean isFaceUp() {
-        return isFaceUp;
-    }
-
-    /**
-     * Sets the face-up state of the card.
+     * Returns the compact identifier of the card, from 0 to 51.
+     * The identifier is the suit ordinal times 13 plus the rank ordinal, so it fits in 6 bits.
      *
-     * @param isFaceUp {@code true} to make the card face-up, {@code false} to make it face-down
+     * @return the card identifier
      */
-    public void setFaceUp(boolean isFaceUp) {
-        this.isFaceUp = isFaceUp;
+    public int getId() {
+        return id;
     }
 
     /**
      * Returns a string representation of the card, combining its rank and suit symbols.
      * This method is used to print the card in a human-readable format.
+     * The label is precomputed, so no string is built on each call.
      *
      * @return a string representation of the card (e.g., "AS" for Ace of Spades)
      */
     @Override
     public String toString() {
-        return rank.getSymbol() + suit.getSymbol();
+        return label;
     }
 
     /**
@@ -113,7 +154,6 @@ public class Card {
      */
     public boolean canBePlacedOn(Card card) {
         // Cards can only be placed on top if they are one rank lower and of opposite color
-        return this.getRank().ordinal() == card.getRank().ordinal() - 1 &&
-               this.getSuit().getColor() != card.getSuit().getColor();
+        return CardCompatibility.canStack(id, card.id);
     }
 }
@@ -0,0 +1,220 @@
+package com.svi.solitaire.vo;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A bit-packed, immutable encoding of a {@link GameState} position that fits in about 50 bytes.
+ * <p>
+ * The encoding is a bit stream with the following fields, in order:
+ * <ul>
+ *     <li>Foundation tops: 4 nibbles, the number of cards on each foundation pile (by suit ordinal).</li>
+ *     <li>Tableau: for each of the 7 columns, its length (5 bits) and its face-down boundary (3 bits),
+ *         followed by the 6-bit id of every card from the bottom to the top of the column.</li>
+ *     <li>Talon: the number of talon and waste cards (5 bits), the talon cursor (5 bits) and the
+ *         passes through the talon (2 bits), followed by the 6-bit id of every card in dealing order.
+ *         The cards before the cursor are in the waste, the rest are still in the talon.</li>
+ * </ul>
+ * Card ids are the ones returned by {@link Card#getId()}. Move counters are not part of a position.
+ * </p>
+ */
+public final class CompactGameState {
+    private static final int FOUNDATION_BITS = 4;
+    private static final int LENGTH_BITS = 5;
+    private static final int FACE_DOWN_BITS = 3;
+    private static final int PASS_BITS = 2;
+    private static final int CARD_BITS = 6;
+
+    private final byte[] data; // The packed position
+
+    private CompactGameState(byte[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Encodes the current position of a game state.
+     *
+     * @param gameState the game state to encode.
+     * @return the compact encoding of the position.
+     */
+    public static CompactGameState fromGameState(GameState gameState) {
+        List<TableauPile> tableau = gameState.getTableau();
+        TalonPile talon = gameState.getTalon();
+
+        int tableauCards = 0;
+        for (TableauPile column : tableau) {
+            tableauCards += column.size();
+        }
+        int talonCards = talon.size();
+        int totalBits = 4 * FOUNDATION_BITS + 7 * (LENGTH_BITS + FACE_DOWN_BITS)
+                + 2 * LENGTH_BITS + PASS_BITS + (tableauCards + talonCards) * CARD_BITS;
+
+        BitWriter writer = new BitWriter((totalBits + 7) / 8);
+        for (ArrayDeque<Card> pile : gameState.getFoundation()) {
+            writer.write(pile.size(), FOUNDATION_BITS);
+        }
+
+        for (TableauPile column : tableau) {
+            writer.write(column.size(), LENGTH_BITS);
+            writer.write(column.getFaceDownCount(), FACE_DOWN_BITS);
+            for (int cardIndex = 0; cardIndex < column.size(); cardIndex++) {
+                writer.write(column.get(cardIndex).getId(), CARD_BITS);
+            }
+        }
+
+        writer.write(talonCards, LENGTH_BITS);
+        writer.write(talon.getWasteSize(), LENGTH_BITS);
+        writer.write(gameState.getPassesThroughTalon(), PASS_BITS);
+        for (int cardIndex = 0; cardIndex < talonCards; cardIndex++) {
+            writer.write(talon.get(cardIndex).getId(), CARD_BITS);
+        }
+
+        return new CompactGameState(writer.toByteArray());
+    }
+
+    /**
+     * Restores this position into a game state, replacing its tableau, foundation, talon and waste.
+     * The turn mode, move counter and undo journal of the game state are left unchanged, so it is
+     * only called through {@link GameState#restorePosition(CompactGameState, int)}.
+     *
+     * @param gameState the game state to overwrite.
+     */
+    void applyTo(GameState gameState) {
+        BitReader reader = new BitReader(data);
+
+        List<ArrayDeque<Card>> foundation = gameState.getFoundation();
+        for (int pileIndex = 0; pileIndex < 4; pileIndex++) {
+            ArrayDeque<Card> pile = foundation.get(pileIndex);
+            pile.clear();
+            int size = reader.read(FOUNDATION_BITS);
+            for (int rankIndex = 0; rankIndex < size; rankIndex++) {
+                pile.push(Card.fromId(pileIndex * 13 + rankIndex)); // Foundation piles keep their top card first
+            }
+        }
+
+        for (TableauPile column : gameState.getTableau()) {
+            column.clear();
+            int size = reader.read(LENGTH_BITS);
+            column.setFaceDownCount(reader.read(FACE_DOWN_BITS));
+            for (int cardIndex = 0; cardIndex < size; cardIndex++) {
+                column.add(Card.fromId(reader.read(CARD_BITS)));
+            }
+        }
+
+        TalonPile talon = gameState.getTalon();
+        talon.clear();
+        int talonCards = reader.read(LENGTH_BITS);
+        int cursor = reader.read(LENGTH_BITS);
+        gameState.setPassesThroughTalon(reader.read(PASS_BITS));
+        for (int cardIndex = 0; cardIndex < talonCards; cardIndex++) {
+            talon.add(Card.fromId(reader.read(CARD_BITS)));
+        }
+        talon.setWasteSize(cursor);
+        gameState.recomputeTalonReachability();
+        gameState.recomputeHash();
+    }
+
+    /**
+     * Gets a copy of the packed bytes of this position.
+     *
+     * @return the encoded position.
+     */
+    public byte[] toByteArray() {
+        return data.clone();
+    }
+
+    /**
+     * Rebuilds a compact position from bytes produced by {@link #toByteArray()}.
+     *
+     * @param data the encoded position.
+     * @return the compact position.
+     */
+    public static CompactGameState fromByteArray(byte[] data) {
+        return new CompactGameState(data.clone());
+    }
+
+    /**
+     * Gets the number of bytes used by the encoding.
+     *
+     * @return the encoded size in bytes.
+     */
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * Computes a 64-bit hash of the encoded position, suitable as a transposition table key.
+     *
+     * @return the 64-bit position hash.
+     */
+    public long longHash() {
+        long hash = 0xcbf29ce484222325L; // FNV-1a offset basis
+        for (byte value : data) {
+            hash ^= value & 0xFF;
+            hash *= 0x100000001b3L; // FNV-1a prime
+        }
+        // Final avalanche so that every bit of the hash depends on every byte
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CompactGameState && Arrays.equals(data, ((CompactGameState) other).data);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    /**
+     * Writes fixed-width unsigned fields into a byte array, most significant bit first.
+     */
+    private static final class BitWriter {
+        private final byte[] buffer;
+        private int bitPosition;
+
+        BitWriter(int byteCount) {
+            this.buffer = new byte[byteCount];
+        }
+
+        void write(int value, int bitCount) {
+            for (int bit = bitCount - 1; bit >= 0; bit--) {
+                if (((value >>> bit) & 1) != 0) {
+                    buffer[bitPosition >>> 3] |= (byte) (0x80 >>> (bitPosition & 7));
+                }
+                bitPosition++;
+            }
+        }
+
+        byte[] toByteArray() {
+            return buffer;
+        }
+    }
+
+    /**
+     * Reads fixed-width unsigned fields written by {@link BitWriter}.
+     */
+    private static final class BitReader {
+        private final byte[] buffer;
+        private int bitPosition;
+
+        BitReader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        int read(int bitCount) {
+            int value = 0;
+            for (int bit = 0; bit < bitCount; bit++) {
+                int currentBit = (buffer[bitPosition >>> 3] >>> (7 - (bitPosition & 7))) & 1;
+                value = (value << 1) | currentBit;
+                bitPosition++;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.svi.solitaire.vo;
+
+import java.util.Arrays;
+
+/**
+ * The record of one game read back from a move log: how it was dealt and every move played,
+ * as journal entries of {@link GameState}, i.e. packed {@link Move} values with their flip bits.
+ * A deal is fully identified by its deal number, turn mode and shuffle choice, so a record
+ * is enough to rebuild the game at any move.
+ */
+public final class GameRecord {
+    private final long dealNumber;
+    private final int turnMode;
+    private final int shuffleChoice;
+    private final int[] moves;
+
+    /**
+     * Creates a game record.
+     *
+     * @param dealNumber    the deal number the game was dealt from.
+     * @param turnMode      the turn mode (1 or 3).
+     * @param shuffleChoice the shuffle menu option (1 to 4).
+     * @param moves         the journal entries of the moves played, in order.
+     */
+    public GameRecord(long dealNumber, int turnMode, int shuffleChoice, int[] moves) {
+        this.dealNumber = dealNumber;
+        this.turnMode = turnMode;
+        this.shuffleChoice = shuffleChoice;
+        this.moves = moves.clone();
+    }
+
+    /**
+     * Gets the deal number the game was dealt from.
+     *
+     * @return the deal number.
+     */
+    public long getDealNumber() {
+        return dealNumber;
+    }
+
+    /**
+     * Gets the turn mode of the game.
+     *
+     * @return 1 or 3.
+     */
+    public int getTurnMode() {
+        return turnMode;
+    }
+
+    /**
+     * Gets the shuffle menu option the game was dealt with.
+     *
+     * @return the shuffle choice, from 1 to 4.
+     */
+    public int getShuffleChoice() {
+        return shuffleChoice;
+    }
+
+    /**
+     * Gets the number of moves played.
+     *
+     * @return the move count.
+     */
+    public int getMoveCount() {
+        return moves.length;
+    }
+
+    /**
+     * Gets a move played.
+     *
+     * @param index the move index, from 0 for the first move of the game.
+     * @return the journal entry of the move.
+     */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    @Override
+    public String toString() {
+        return "Deal " + dealNumber + " | Turn " + turnMode + " | Shuffle " + shuffleChoice + " | " + moves.length + " moves";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof GameRecord)) {
+            return false;
+        }
+        GameRecord record = (GameRecord) other;
+        return dealNumber == record.dealNumber && turnMode == record.turnMode
+                && shuffleChoice == record.shuffleChoice && Arrays.equals(moves, record.moves);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(dealNumber) * 31 + Arrays.hashCode(moves);
+    }
+}
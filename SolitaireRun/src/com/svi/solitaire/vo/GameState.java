@@ -1,21 +1,32 @@
 package com.svi.solitaire.vo;
 
+import com.svi.solitaire.utilities.BufferedRenderer;
 import com.svi.solitaire.utilities.CardRenderer;
+import com.svi.solitaire.utilities.GameRenderer;
 import com.svi.solitaire.logic.CardMovementHandler;
+import com.svi.solitaire.logic.MoveGenerator;
+import com.svi.solitaire.logic.PositionHistory;
+import com.svi.solitaire.logic.SafeMoves;
+import com.svi.solitaire.logic.TalonReachability;
 import com.svi.solitaire.logic.TurnModeHandler;
+import com.svi.solitaire.logic.ZobristKeys;
 
 import java.util.List;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Represents the state of a Solitaire game, including the tableau, foundation, talon, and waste piles.
  */
 public class GameState {
-    private List<ArrayDeque<Card>> tableau; // 7 tableau columns
+    /** The number of times the waste may be turned back over into the talon. */
+    public static final int MAX_REDEALS = 2;
+
+    private List<TableauPile> tableau; // 7 tableau columns
     private List<ArrayDeque<Card>> foundation; // 4 foundation piles
-    private ArrayDeque<Card> talon; // Stock of undealt cards
-    private ArrayDeque<Card> waste; // Cards dealt from the talon
+    private final TalonPile talon = new TalonPile(); // Stock of undealt cards and the waste of cards dealt from it
+    private final TalonReachability talonReachability = new TalonReachability(talon); // Talon cards reachable by dealing
 
     private TurnModeHandler turnModeHandler; // Instance of TurnModeHandler
 
@@ -23,6 +34,24 @@ public class GameState {
     private int moves; // Tracks the number of moves
     private int passesThroughTalon; // Tracks how many times the talon has been passed through
     private boolean isInitialStateRendered = false; // Track whether the initial game state has been rendered
+    private GameRenderer renderer = BufferedRenderer.console(); // Output of auto-play, silent for batch simulations
+    private boolean renderingStep; // Whether the auto-play step being played is rendered
+
+    // Reusable scratch buffers, so playing a move allocates nothing
+    private final int[] moveBuffer = new int[MoveGenerator.MAX_MOVES];
+
+    // Undo journal: one packed move per played move, with its flip bit set when it turned a card face-up
+    private int[] journal = new int[256];
+    private int journalSize;
+
+    private long hash; // Zobrist hash of the position, kept up to date on every move
+    private long pileHash; // Part of the canonical key for the foundation and talon
+    private final long[] columnHashes = new long[7]; // Part of the canonical key for each tableau column
+    private int faceDownCards; // Face-down cards in the whole tableau, kept up to date on every move
+
+    private final PositionHistory positionHistory = new PositionHistory(); // Positions reached by auto-play
+    private boolean stalled; // Whether auto-play stopped because a position repeated
+    private boolean safeMoves; // Whether auto-play follows every move with the safe foundation moves
 
     /**
      * Constructor initializes the game state and the TurnModeHandler.
@@ -40,7 +69,49 @@ public class GameState {
      * @param turnMode The turn mode to set.
      */
     public void setTurnMode(int turnMode) {
-        this.turnModeHandler.setTurnMode(turnMode); // Set the turn mode dynamically
+        this.turnModeHandler.setTurnMode(turnMode, renderer.getLevel().showsMoves()); // Set the turn mode dynamically, announced only when rendering moves
+        talonReachability.setDealCount(turnModeHandler.getTurnMode().getMode());
+    }
+
+    /**
+     * Sets the turn mode of a game state that may already have one, as when a game state is reused
+     * for games of either mode. Unlike {@link #setTurnMode(int)}, a mode set before is replaced.
+     *
+     * @param turnMode The turn mode to set.
+     */
+    public void changeTurnMode(int turnMode) {
+        this.turnModeHandler.resetTurnMode();
+        setTurnMode(turnMode);
+    }
+
+    /**
+     * Enables or disables all console output of this game state.
+     * When disabled, no move messages are printed and the board is never rendered,
+     * which allows games to be simulated in bulk.
+     *
+     * @param renderingEnabled {@code true} to print moves and render the board, {@code false} to play silently.
+     */
+    public void setRenderingEnabled(boolean renderingEnabled) {
+        setRenderer(renderingEnabled ? BufferedRenderer.console() : BufferedRenderer.silent());
+    }
+
+    /**
+     * Sets the renderer that shows the progress of auto-play, along with how much of it is shown.
+     *
+     * @param renderer the renderer to use.
+     */
+    public void setRenderer(GameRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Sets whether auto-play follows every move it chooses with all the {@link SafeMoves safe}
+     * foundation moves of the resulting position, played at once. Each of them still counts as a move.
+     *
+     * @param safeMoves {@code true} to play safe moves at once; {@code false} to leave them to the move order.
+     */
+    public void setSafeMoves(boolean safeMoves) {
+        this.safeMoves = safeMoves;
     }
 
     /**
@@ -49,7 +120,7 @@ public class GameState {
     public void resetGameState() {
         tableau = new ArrayList<>(7); // Initialize 7 tableau columns
         for (int columnIndex = 0; columnIndex < 7; columnIndex++) {
-            tableau.add(new ArrayDeque<>());
+            tableau.add(new TableauPile());
         }
 
         foundation = new ArrayList<>(4); // Initialize 4 foundation piles
@@ -57,11 +128,14 @@ public class GameState {
             foundation.add(new ArrayDeque<>());
         }
 
-        talon = new ArrayDeque<>();
-        waste = new ArrayDeque<>();
-        // Reset moves and passes through talon
+        talon.clear();
+        talonReachability.recompute();
+        // Reset moves, passes through talon and the undo journal
         this.moves = 0;
         this.passesThroughTalon = 0;
+        this.journalSize = 0;
+        this.stalled = false;
+        recomputeHash();
     }
 
     /**
@@ -79,275 +153,553 @@ public class GameState {
 
                 CardMovementHandler.validateCardDistribution(card); // Validate card distribution
 
-                if (cardIndex == columnIndex) {
-                    card.setFaceUp(true); // The top card in the column is face-up
-                } else {
-                    card.setFaceUp(false); // All other cards are face-down
-                }
                 tableau.get(columnIndex).add(card); // Add the card to the current tableau column
             }
+            tableau.get(columnIndex).setFaceDownCount(columnIndex); // Only the top card in the column is face-up
         }
 
-        talon.addAll(shuffledDeck); // Remaining cards go to the talon
+        for (Card card : shuffledDeck) {
+            talon.add(card); // Remaining cards go to the talon
+        }
+        talonReachability.recompute();
+        recomputeHash();
 
         // Print the initial game state after distribution (rendering occurs only once)
-        if (!isInitialStateRendered) {
+        if (renderer.getLevel().showsMoves() && !isInitialStateRendered) {
             // Only render the game state once after cards are distributed
-            CardRenderer.renderTableau(tableau);
-            CardRenderer.renderFoundation(foundation);
-            CardRenderer.renderTalon(talon, turnModeHandler); // Pass the TurnModeHandler instance to renderer
+            renderer.renderBoard(this);
             isInitialStateRendered = true; // Mark the state as rendered
         }
     }
 
     /**
      * Automatically plays the game until it's won, lost, or no valid moves are left.
+     * Each cycle plays the first legal move produced by the {@link MoveGenerator}. When only
+     * dealing or redealing is left and no talon card reachable by dealing can be played,
+     * the game stops at once instead of cycling through the remaining passes. When a move leads
+     * back to a position already reached, the game stops as a stall instead of going round the loop.
+     * Once every card left is face-up in the tableau, the rest of the game is played out in a
+     * single step, silently, with the moves it would otherwise have played one step at a time.
+     * When {@linkplain #setSafeMoves(boolean) safe moves} are on, each move is followed, within
+     * the same step, by every safe foundation move it makes possible.
      */
     public void autoPlayGame() {
-        boolean gameOver = false;
-
-        while (!gameOver) {
-            boolean updated = false;  // Track if the game state changes in this cycle
-            boolean moved = false;    // Track if a valid move was made in this cycle
-
-            System.out.println("\n============ Move " + (moves + 1) + " ============\n");
-
-            // 1. Updated tableau-to-tableau move logic to handle sequences
-            if (!moved) {
-                boolean sequenceMoved = false;
-
-                for (int sourceColumnIndex = 0; sourceColumnIndex < tableau.size(); sourceColumnIndex++) {
-                    ArrayDeque<Card> sourceColumn = tableau.get(sourceColumnIndex);
-
-                    if (!sourceColumn.isEmpty()) {
-                        // Get the movable sequence from the source column
-                        List<Card> movableSequence = CardMovementHandler.getMovableSequence(sourceColumn);
-
-                        if (!movableSequence.isEmpty() && !sequenceMoved) {
-                            // Iterate over tableau columns to find a valid move
-                            for (int targetColumnIndex = 0; targetColumnIndex < tableau.size(); targetColumnIndex++) {
-                                if (sourceColumnIndex != targetColumnIndex) {
-                                    ArrayDeque<Card> targetColumn = tableau.get(targetColumnIndex);
-
-                                    // Get the top card of the sequence
-                                    Card topCard = movableSequence.get(0);
-
-                                    // Condition to prevent moving a King if it is already at the first index of the column
-                                    if (topCard.getRank() == Rank.KING && sourceColumn.peekFirst() == topCard) {
-                                        continue; // Skip moving the King if it's already at the first index of the column
-                                    }
-
-                                    // Check if the sequence can be moved to an empty column (valid for King)
-                                    if (targetColumn.isEmpty() && topCard.getRank() == Rank.KING) {
-                                        // Move the whole sequence to the empty column
-                                        for (Card card : movableSequence) {
-                                            sourceColumn.remove(card);
-                                            targetColumn.addLast(card);
-                                        }
-
-                                        // Flip the next card in the source column, if any
-                                        if (!sourceColumn.isEmpty()) {
-                                            sourceColumn.peekLast().setFaceUp(true);
-                                        }
-
-                                        moved = true;
-                                        updated = true;
-                                        moves++;
-                                        sequenceMoved = true;  // Mark sequence as moved
-                                        System.out.println("Moved sequence " + movableSequence + " to Column " + (targetColumnIndex + 1));
-                                        break;
-                                    }
-                                    // Check if the sequence can be moved to a non-empty column (alternating colors, descending order)
-                                    else if (!targetColumn.isEmpty()) {
-                                        Card targetTopCard = targetColumn.peekLast();
-
-                                        // Ensure the sequence can only move if it follows the rules: descending, alternating colors
-                                        if (targetTopCard.getRank().ordinal() == topCard.getRank().ordinal() + 1 &&
-                                            targetTopCard.getSuit().getColor() != topCard.getSuit().getColor()) {
-                                            // Move the whole sequence to the target column
-                                            for (Card card : movableSequence) {
-                                                sourceColumn.remove(card);
-                                                targetColumn.addLast(card);
-                                            }
-
-                                            // Flip the next card in the source column, if any
-                                            if (!sourceColumn.isEmpty()) {
-                                                sourceColumn.peekLast().setFaceUp(true);
-                                            }
-
-                                            moved = true;
-                                            updated = true;
-                                            moves++;
-                                            sequenceMoved = true;  // Mark sequence as moved
-                                            System.out.println("Moved sequence " + movableSequence + " to Column " + (targetColumnIndex + 1));
-                                            break;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
+        positionHistory.clear();
+        positionHistory.addIfAbsent(hash);
+        stalled = false;
+        try {
+            for (int step = 1; ; step++) {
+                renderingStep = renderer.isStepRendered(step);
+                if (renderingStep) {
+                    renderer.beginMove(moves + 1);
+                }
 
-                    if (moved) {
-                        break;
+                if (canAutoFinish()) {
+                    if (renderingStep) {
+                        renderer.message("All cards are face-up. The remaining cards go to the foundations.");
                     }
+                    autoFinish();
+                    renderer.endGame(this, "Congratulations! You won!");
+                    return;
                 }
-            }
 
-            // 2. Try moving cards from tableau to foundation
-            for (ArrayDeque<Card> column : tableau) {
-                if (!column.isEmpty()) {
-                    Card topCard = column.peekLast();
-                    if (topCard.isFaceUp() && CardMovementHandler.addToFoundation(topCard, foundation)) {
-                        column.pollLast();  // Remove the card from tableau after moving it
-                        
-                        // Flip the next card in the column face-up, if any remain
-                        if (!column.isEmpty()) {
-                            column.peekLast().setFaceUp(true);
-                        }
-                        moved = true;
-                        updated = true;
-                        moves++;
-                        break;
-                    }
+                int moveCount = MoveGenerator.generateMoves(this, moveBuffer);
+                if (moveCount == 0) {
+                    renderer.endGame(this, "No valid moves left. Game over!");
+                    return;
+                }
+
+                int move = moveBuffer[0];
+                boolean onlyTalonMoves = Move.type(move) == Move.DEAL || Move.type(move) == Move.REDEAL;
+                if (onlyTalonMoves && !MoveGenerator.hasReachableTalonPlay(this)) {
+                    renderer.endGame(this, "No valid moves left. Game over!");
+                    return;
                 }
-            }
 
-            // 3. Try moving cards from talon to tableau or foundation
-            if (!moved && !talon.isEmpty()) {
-                Card topCard = talon.peekLast(); // suspected
-                if (CardMovementHandler.addToFoundation(topCard, foundation)) {
-                    talon.pollLast();
-                    moved = true;
-                    updated = true;
-                    moves++;
-                } else {
-                    for (ArrayDeque<Card> column : tableau) {
-                        if (column.isEmpty() && topCard.getRank() == Rank.KING) {
-                            column.addLast(talon.pollLast()); // Place King in empty tableau // it is wrong since i'm using array deque 
-                            column.peekLast().setFaceUp(true);
-                            moved = true;
-                            updated = true;
-                            moves++;
-                            break;
-                        } else {
-                            Card topColumnCard = column.peekLast();
-                            if (topColumnCard != null &&
-                                    topColumnCard.getRank().ordinal() == topCard.getRank().ordinal() + 1 &&
-                                    topColumnCard.getSuit().getColor() != topCard.getSuit().getColor()) {
-                                column.addLast(talon.pollLast()); // Add to tableau
-                                column.peekLast().setFaceUp(true);
-                                moved = true;
-                                updated = true;
-                                moves++;
-                                break; 
-                            }
+                if (renderingStep) {
+                    renderer.message(describeMove(move));
+                }
+                applyMove(move);
+                if (safeMoves) {
+                    for (int safeMove = SafeMoves.nextSafeMove(this); safeMove != SafeMoves.NO_MOVE;
+                            safeMove = SafeMoves.nextSafeMove(this)) {
+                        if (renderingStep) {
+                            renderer.message(describeMove(safeMove));
                         }
+                        applyMove(safeMove);
                     }
                 }
-            }
 
-            // Deal cards from talon to waste if no moves were made
-            if (!moved && !talon.isEmpty()) {
-                if (turnModeHandler.getTurnMode() == TurnModeHandler.TurnMode.TURN_1) {
-                    Card talonCard = talon.pop();
-                    waste.push(talonCard);
-                    System.out.println("Card " + talonCard + " is moved to the Waste Pile.");
-                    updated = true;
-                    moves++;
-                } else if (turnModeHandler.getTurnMode() == TurnModeHandler.TurnMode.TURN_3) {
-                    for (int cardCount = 0; cardCount < 3 && !talon.isEmpty(); cardCount++) {
-                        Card talonCard = talon.pop();
-                        waste.push(talonCard);
-                        System.out.println("Card " + talonCard + " is moved to the Waste Pile.");
-                        updated = true;
-                        moves++;
-                    }
+                // Check if the game is won
+                if (CardMovementHandler.validateGameWon(foundation)) {
+                    renderer.endGame(this, "Congratulations! You won!");
+                    return;
+                }
+
+                if (!positionHistory.addIfAbsent(hash)) {
+                    stalled = true;
+                    renderer.endGame(this, "Position repeated. Game stalled!");
+                    return;
+                }
+
+                if (renderingStep) {
+                    // Show the counters and the board after the move
+                    renderer.endMove(this);
                 }
             }
+        } finally {
+            renderingStep = false;
+        }
+    }
 
-            // Redeal cards if talon is empty and waste is non-empty
-            if (!moved && talon.isEmpty() && !waste.isEmpty() && passesThroughTalon < 2) {
-                System.out.println("Redealing cards from waste to talon...");
-                redealTalon();
-                updated = true;
+    /**
+     * Applies a packed move produced by the {@link MoveGenerator} to this game state and records
+     * it in the undo journal. Tableau cards left uncovered by the move are flipped face-up, and the
+     * move counter grows by one per card played or dealt. Redealing the waste does not count as a move.
+     *
+     * @param move the packed move to apply; it must be legal in the current position.
+     * @return the journal entry of the move, i.e. the packed move with its flip bit set if a card was flipped.
+     */
+    public int applyMove(int move) {
+        boolean flipped = false;
+        toggleTalonStateKey(); // The dealt count and passes are rehashed around the move
+        switch (Move.type(move)) {
+            case Move.TABLEAU_TO_TABLEAU: {
+                TableauPile sourceColumn = tableau.get(Move.source(move));
+                TableauPile targetColumn = tableau.get(Move.target(move));
+                hashRunMove(sourceColumn, Move.count(move), Move.source(move), Move.target(move));
+                sourceColumn.moveRunTo(targetColumn, Move.count(move));
+                flipped = flipTopCard(Move.source(move));
+                moves++;
+                break;
+            }
+            case Move.TABLEAU_TO_FOUNDATION: {
+                Card card = tableau.get(Move.source(move)).removeTop();
+                CardMovementHandler.addToFoundation(card, foundation);
+                hashCardMove(card, ZobristKeys.tableau(Move.source(move), true), ZobristKeys.FOUNDATION);
+                flipped = flipTopCard(Move.source(move));
+                moves++;
+                break;
+            }
+            case Move.TALON_TO_FOUNDATION: {
+                Card talonCard = talon.removeWasteTop();
+                talonReachability.cardsChangedFrom(talon.getWasteSize());
+                CardMovementHandler.addToFoundation(talonCard, foundation);
+                hashCardMove(talonCard, ZobristKeys.TALON, ZobristKeys.FOUNDATION);
+                moves++;
+                break;
             }
+            case Move.TALON_TO_TABLEAU: {
+                Card talonCard = talon.removeWasteTop();
+                talonReachability.cardsChangedFrom(talon.getWasteSize());
+                tableau.get(Move.target(move)).add(talonCard);
+                hashCardMove(talonCard, ZobristKeys.TALON, ZobristKeys.tableau(Move.target(move), true));
+                moves++;
+                break;
+            }
+            case Move.DEAL:
+                if (renderingStep) {
+                    for (int cardCount = 0; cardCount < Move.count(move); cardCount++) {
+                        log("Card " + talon.get(talon.getWasteSize() + cardCount) + " is moved to the Waste Pile.");
+                    }
+                }
+                talon.deal(Move.count(move));
+                moves += Move.count(move);
+                break;
+            case Move.REDEAL:
+                redealTalon();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown move type: " + Move.type(move));
+        }
+
+        toggleTalonStateKey();
+
+        int entry = flipped ? Move.withFlip(move) : move;
+        if (journalSize == journal.length) {
+            journal = Arrays.copyOf(journal, journalSize * 2);
+        }
+        journal[journalSize++] = entry;
+        return entry;
+    }
 
-            // Check if the game is won
-            if (CardMovementHandler.validateGameWon(foundation)) {
-                gameOver = true;
-                System.out.println("Congratulations! You won!");
-                printGameStatus();
-                updateGameState();
-                return;
+    /**
+     * Takes back the most recently applied move, restoring the position, the flipped card,
+     * the talon and waste, and the move and pass counters exactly as they were before it.
+     *
+     * @return the journal entry of the move that was taken back.
+     * @throws IllegalStateException if there is no move to take back.
+     */
+    public int undoMove() {
+        if (journalSize == 0) {
+            throw new IllegalStateException("There is no move to undo.");
+        }
+        int entry = journal[--journalSize];
+
+        toggleTalonStateKey();
+        switch (Move.type(entry)) {
+            case Move.TABLEAU_TO_TABLEAU: {
+                TableauPile sourceColumn = tableau.get(Move.source(entry));
+                TableauPile targetColumn = tableau.get(Move.target(entry));
+
+                unflipTopCard(Move.source(entry), entry);
+                hashRunMove(targetColumn, Move.count(entry), Move.target(entry), Move.source(entry));
+                targetColumn.moveRunTo(sourceColumn, Move.count(entry));
+                moves--;
+                break;
+            }
+            case Move.TABLEAU_TO_FOUNDATION: {
+                unflipTopCard(Move.source(entry), entry);
+                Card card = popFoundation(entry);
+                tableau.get(Move.source(entry)).add(card);
+                hashCardMove(card, ZobristKeys.FOUNDATION, ZobristKeys.tableau(Move.source(entry), true));
+                moves--;
+                break;
+            }
+            case Move.TALON_TO_FOUNDATION: {
+                Card talonCard = popFoundation(entry);
+                talon.restoreWasteTop(talonCard);
+                talonReachability.cardsChangedFrom(talon.getWasteSize() - 1);
+                hashCardMove(talonCard, ZobristKeys.FOUNDATION, ZobristKeys.TALON);
+                moves--;
+                break;
             }
+            case Move.TALON_TO_TABLEAU: {
+                Card talonCard = tableau.get(Move.target(entry)).removeTop();
+                talon.restoreWasteTop(talonCard);
+                talonReachability.cardsChangedFrom(talon.getWasteSize() - 1);
+                hashCardMove(talonCard, ZobristKeys.tableau(Move.target(entry), true), ZobristKeys.TALON);
+                moves--;
+                break;
+            }
+            case Move.DEAL:
+                talon.undeal(Move.count(entry));
+                moves -= Move.count(entry);
+                break;
+            case Move.REDEAL:
+                talon.undoRedeal();
+                passesThroughTalon--;
+                break;
+            default:
+                throw new IllegalStateException("Unknown move type in journal: " + Move.type(entry));
+        }
+        toggleTalonStateKey();
+        return entry;
+    }
+
+    /**
+     * Gets the number of moves recorded in the undo journal.
+     *
+     * @return the journal size.
+     */
+    public int getJournalSize() {
+        return journalSize;
+    }
+
+    /**
+     * Gets a move recorded in the undo journal.
+     *
+     * @param index the journal index, from 0 for the first move of the game.
+     * @return the journal entry, i.e. the packed move with its flip bit set if it flipped a card.
+     */
+    public int getJournalEntry(int index) {
+        if (index < 0 || index >= journalSize) {
+            throw new IndexOutOfBoundsException("Journal index " + index + " out of range 0.." + journalSize);
+        }
+        return journal[index];
+    }
 
-            // Check if there are no valid moves left (auto exit condition)
-            if (!updated || !hasValidMoves()) {
-                System.out.println("No valid moves left. Game over!");
-                gameOver = true;
-            } else {
-                // Update the game state
-                printGameStatus();
-                updateGameState();
+    /**
+     * Describes a packed move in the current position, before it is applied.
+     *
+     * @param move the packed move to describe.
+     * @return a human-readable description of the move.
+     */
+    public String describeMove(int move) {
+        switch (Move.type(move)) {
+            case Move.TABLEAU_TO_TABLEAU: {
+                TableauPile sourceColumn = tableau.get(Move.source(move));
+                List<Card> movableSequence = new ArrayList<>(Move.count(move));
+                for (int cardIndex = sourceColumn.size() - Move.count(move); cardIndex < sourceColumn.size(); cardIndex++) {
+                    movableSequence.add(sourceColumn.get(cardIndex));
+                }
+                return "Moved sequence " + movableSequence + " to Column " + (Move.target(move) + 1);
             }
+            case Move.TABLEAU_TO_FOUNDATION:
+                return "Card " + tableau.get(Move.source(move)).peekTop() + " is moved to the Foundation.";
+            case Move.TALON_TO_FOUNDATION:
+                return "Card " + talon.peekWasteTop() + " is moved from the Talon to the Foundation.";
+            case Move.TALON_TO_TABLEAU:
+                return "Card " + talon.peekWasteTop() + " is moved from the Talon to Column " + (Move.target(move) + 1);
+            case Move.DEAL:
+                return "Dealing " + Move.count(move) + " card(s) from the talon...";
+            case Move.REDEAL:
+                return "Redealing cards from waste to talon...";
+            default:
+                return "Unknown move";
         }
     }
 
     /**
-     * Checks for valid moves across tableau, foundation, and talon.
+     * Checks for valid moves across tableau, foundation, and talon. Dealing from the talon and
+     * redealing the waste are not moves in themselves, but a talon card that dealing can bring
+     * to the top of the waste and that could then be played counts as a valid move.
      *
      * @return true if there are valid moves left, false otherwise.
      */
-    private boolean hasValidMoves() {
-        for (ArrayDeque<Card> column : tableau) {
-            if (!column.isEmpty() && column.peekLast().isFaceUp()) {
-                return true; // There are cards that can be moved
+    public boolean hasValidMoves() {
+        return MoveGenerator.generatePlayMoves(this, moveBuffer) > 0 || MoveGenerator.hasReachableTalonPlay(this);
+    }
+
+    /**
+     * Checks whether the game is certainly won: every tableau card is face-up and the talon and
+     * waste are empty. The face-up cards of a column form one run, so the lowest card left always
+     * sits on top of a column and can go to its foundation.
+     *
+     * @return true if the remaining cards can all be played to the foundations, false otherwise.
+     */
+    public boolean canAutoFinish() {
+        return faceDownCards == 0 && talon.isEmpty();
+    }
+
+    /**
+     * Plays the game out to the win with the moves {@link #autoPlayGame()} would choose, the first
+     * move of the {@link MoveGenerator} followed by the safe moves when they are on, but without
+     * rendering or checking for a win or a repeated position after each of them. The moves are
+     * journaled as usual, so the final move counter is the one of playing the game out step by
+     * step, and the moves can still be undone, logged and replayed.
+     * <p>
+     * The play-out always ends: with every card face-up, a tableau-to-tableau move takes a whole
+     * column that does not start with a King, so it leaves one more empty column that only a King
+     * can fill, and every other move sends a card to its foundation.
+     * </p>
+     *
+     * @return the number of moves played, each one a journal entry.
+     * @throws IllegalStateException if the game cannot be auto-finished.
+     */
+    public int autoFinish() {
+        if (!canAutoFinish()) {
+            throw new IllegalStateException("Cannot auto-finish: cards are still face-down or in the talon.");
+        }
+        int movesPlayed = 0;
+        while (MoveGenerator.generateMoves(this, moveBuffer) > 0) { // No move is left only once the game is won
+            applyMove(moveBuffer[0]);
+            movesPlayed++;
+            if (safeMoves) {
+                movesPlayed += SafeMoves.applySafeMoves(this);
             }
         }
+        return movesPlayed;
+    }
 
-        // Check for valid talon-to-foundation or talon-to-tableau moves
-        if (!talon.isEmpty()) {
-            Card topCard = talon.peekLast();
-            if (CardMovementHandler.addToFoundation(topCard, foundation)) {
-                return true;
-            }
+    /**
+     * Gets the talon and waste cards that can still reach the top of the waste by dealing and
+     * redealing alone, within the passes left.
+     *
+     * @return the bit set of reachable card identifiers, bit {@code i} standing for {@link Card#fromId(int) card i}.
+     */
+    public long getReachableTalonCards() {
+        return talonReachability.getReachableCards(MAX_REDEALS - passesThroughTalon);
+    }
 
-            for (ArrayDeque<Card> column : tableau) {
-                if (column.isEmpty() && topCard.getRank() == Rank.KING) {
-                    return true;
-                } else {
-                    Card topColumnCard = column.peekLast();
-                    if (topColumnCard != null &&
-                            topColumnCard.getRank().ordinal() == topCard.getRank().ordinal() + 1 &&
-                            topColumnCard.getSuit().getColor() != topCard.getSuit().getColor()) {
-                        return true;
-                    }
-                }
+    /**
+     * Recomputes the reachable talon cards from scratch.
+     * Used whenever the talon is replaced rather than changed by a move.
+     */
+    void recomputeTalonReachability() {
+        talonReachability.recompute();
+    }
+
+    /**
+     * Turns the top card of a tableau column face-up, if the column is not empty.
+     *
+     * @param columnIndex the tableau column index.
+     * @return true if a face-down card was turned face-up, false otherwise.
+     */
+    private boolean flipTopCard(int columnIndex) {
+        TableauPile column = tableau.get(columnIndex);
+        if (column.flipTop()) {
+            faceDownCards--;
+            Card topCard = column.peekTop();
+            hashCardMove(topCard, ZobristKeys.tableau(columnIndex, false), ZobristKeys.tableau(columnIndex, true));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Turns the top card of a tableau column back face-down if the journaled move had flipped it.
+     *
+     * @param columnIndex the tableau column index the move was played from.
+     * @param entry       the journal entry of the move.
+     */
+    private void unflipTopCard(int columnIndex, int entry) {
+        if (Move.isFlip(entry)) {
+            TableauPile column = tableau.get(columnIndex);
+            column.unflipTop();
+            faceDownCards++;
+            Card topCard = column.peekTop();
+            hashCardMove(topCard, ZobristKeys.tableau(columnIndex, true), ZobristKeys.tableau(columnIndex, false));
+        }
+    }
+
+    /**
+     * Updates the position hash for a card that moved between two locations.
+     *
+     * @param card         the card that moved.
+     * @param fromLocation the Zobrist location the card left.
+     * @param toLocation   the Zobrist location the card arrived at.
+     */
+    private void hashCardMove(Card card, int fromLocation, int toLocation) {
+        int cardId = card.getId();
+        toggleCardKey(cardId, fromLocation);
+        toggleCardKey(cardId, toLocation);
+    }
+
+    /**
+     * Adds a card at a location to the position hash and the canonical key, or removes it.
+     *
+     * @param cardId   the card identifier.
+     * @param location the Zobrist location of the card.
+     */
+    private void toggleCardKey(int cardId, int location) {
+        hash ^= ZobristKeys.card(cardId, location);
+        if (ZobristKeys.isTableau(location)) {
+            columnHashes[ZobristKeys.column(location)] ^= ZobristKeys.columnCard(cardId, location);
+        } else {
+            pileHash ^= ZobristKeys.card(cardId, location);
+        }
+    }
+
+    /**
+     * Updates the position hash for a run of face-up cards that moves from the top of one column to another.
+     *
+     * @param sourceColumn the column the run is taken from, before the move.
+     * @param runLength    the number of cards in the run.
+     * @param sourceIndex  the index of the source column.
+     * @param targetIndex  the index of the target column.
+     */
+    private void hashRunMove(TableauPile sourceColumn, int runLength, int sourceIndex, int targetIndex) {
+        int sourceLocation = ZobristKeys.tableau(sourceIndex, true);
+        int targetLocation = ZobristKeys.tableau(targetIndex, true);
+        for (int cardIndex = sourceColumn.size() - runLength; cardIndex < sourceColumn.size(); cardIndex++) {
+            hashCardMove(sourceColumn.get(cardIndex), sourceLocation, targetLocation);
+        }
+    }
+
+    /**
+     * Gets the combined key of the number of dealt talon cards and the passes through the talon.
+     *
+     * @return the talon state key.
+     */
+    private long talonStateKey() {
+        return ZobristKeys.dealt(talon.getWasteSize()) ^ ZobristKeys.passes(passesThroughTalon);
+    }
+
+    /**
+     * Adds the talon state key to the position hash and the canonical key, or removes it.
+     */
+    private void toggleTalonStateKey() {
+        long talonStateKey = talonStateKey();
+        hash ^= talonStateKey;
+        pileHash ^= talonStateKey;
+    }
+
+    /**
+     * Recomputes the position hash, the canonical key and the face-down card count from scratch by walking every pile.
+     * Used whenever the position is replaced rather than changed by a move.
+     */
+    void recomputeHash() {
+        hash = 0L;
+        pileHash = 0L;
+        Arrays.fill(columnHashes, 0L);
+        toggleTalonStateKey();
+        faceDownCards = 0;
+        for (int columnIndex = 0; columnIndex < tableau.size(); columnIndex++) {
+            TableauPile column = tableau.get(columnIndex);
+            faceDownCards += column.getFaceDownCount();
+            for (int cardIndex = 0; cardIndex < column.size(); cardIndex++) {
+                int location = ZobristKeys.tableau(columnIndex, column.isFaceUp(cardIndex));
+                toggleCardKey(column.get(cardIndex).getId(), location);
+            }
+        }
+        for (ArrayDeque<Card> pile : foundation) {
+            for (Card card : pile) {
+                toggleCardKey(card.getId(), ZobristKeys.FOUNDATION);
             }
         }
+        for (int cardIndex = 0; cardIndex < talon.size(); cardIndex++) {
+            toggleCardKey(talon.get(cardIndex).getId(), ZobristKeys.TALON);
+        }
+    }
 
-        return false; // No valid moves left
+    /**
+     * Gets the 64-bit Zobrist hash of the current position. Equal positions have equal hashes,
+     * whatever moves led to them; the move counter is not part of the position.
+     *
+     * @return the position hash.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets a 64-bit key of the current position that ignores the order of the tableau columns.
+     * Positions that only differ by which column holds which pile, empty columns included, play
+     * exactly the same, so a search that caches positions under this key visits each of them once.
+     *
+     * @return the canonical position key.
+     */
+    public long getCanonicalHash() {
+        long columnSum = 0L;
+        for (long columnHash : columnHashes) {
+            columnSum += ZobristKeys.mixColumn(columnHash);
+        }
+        return pileHash ^ columnSum;
+    }
+
+    /**
+     * Restores a saved position along with the move counter of the game at that position, as when
+     * a replay seeks to a snapshot. The undo journal is emptied, so it only records the moves played
+     * from the restored position on.
+     *
+     * @param position the position to restore.
+     * @param moves    the move counter at the position.
+     */
+    public void restorePosition(CompactGameState position, int moves) {
+        position.applyTo(this);
+        this.moves = moves;
+        this.journalSize = 0;
+    }
+
+    /**
+     * Removes the card that a journaled move placed on its foundation pile.
+     *
+     * @param entry the journal entry of the move, whose target is the foundation pile index.
+     * @return the card taken off the foundation.
+     */
+    private Card popFoundation(int entry) {
+        return foundation.get(Move.target(entry)).pop();
     }
 
     /**
      * Redeals cards from waste to talon and resets the waste.
      */
     private void redealTalon() {
-        if (!waste.isEmpty()) {
+        if (talon.getWasteSize() > 0) {
             // Move all cards from waste back to talon
-            while (!waste.isEmpty()) {
-                talon.push(waste.pop());
-            }
+            talon.redeal();
 
             passesThroughTalon++; // Increment the passes-through counter
 
-            System.out.println("All cards from the waste pile have been moved back to the talon.");
+            log("All cards from the waste pile have been moved back to the talon.");
 
             // Re-render the talon
-            CardRenderer.renderTalon(talon, turnModeHandler);
+            if (renderingStep) {
+                renderer.renderTalon(this);
+            }
         } else {
-            System.out.println("Cannot redeal: The waste pile is empty.");
+            log("Cannot redeal: The waste pile is empty.");
         }
     }
 
@@ -365,7 +717,119 @@ public class GameState {
      */
     public void printGameStatus() {
         System.out.println("\nMoves: " + moves);
-        System.out.println("Talon Size: " + talon.size());
+        System.out.println("Talon Size: " + talon.getTalonSize());
         System.out.println("Passthrus: " + passesThroughTalon);
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks whether every foundation pile is complete.
+     *
+     * @return true if the game has been won, false otherwise.
+     */
+    public boolean isGameWon() {
+        return CardMovementHandler.validateGameWon(foundation);
+    }
+
+    /**
+     * Gets the number of face-down cards left in the tableau.
+     *
+     * @return the face-down card count.
+     */
+    public int getFaceDownCards() {
+        return faceDownCards;
+    }
+
+    /**
+     * Checks whether the last auto-play stopped because it reached a position a second time.
+     *
+     * @return true if the game stalled in a loop, false otherwise.
+     */
+    public boolean isStalled() {
+        return stalled;
+    }
+
+    /**
+     * Gets the number of moves made in the current game.
+     *
+     * @return the move counter.
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets how many times the waste has been redealt to the talon in the current game.
+     *
+     * @return the passes-through-talon counter.
+     */
+    public int getPassesThroughTalon() {
+        return passesThroughTalon;
+    }
+
+    /**
+     * Gets the turn mode of the game.
+     *
+     * @return the current turn mode.
+     * @throws IllegalStateException if the turn mode has not been set yet.
+     */
+    public TurnModeHandler.TurnMode getTurnMode() {
+        return turnModeHandler.getTurnMode();
+    }
+
+    /**
+     * Gets the talon card that may currently be played to the tableau or foundation,
+     * which is the most recently dealt card on top of the waste.
+     *
+     * @return the playable talon card, or {@code null} if the waste is empty.
+     */
+    public Card getPlayableTalonCard() {
+        return talon.peekWasteTop();
+    }
+
+    /**
+     * Gets the tableau columns, each ordered from the bottom card to the top card.
+     *
+     * @return the 7 tableau columns.
+     */
+    public List<TableauPile> getTableau() {
+        return tableau;
+    }
+
+    /**
+     * Gets the foundation piles, indexed by suit ordinal, each with its top card first.
+     *
+     * @return the 4 foundation piles.
+     */
+    public List<ArrayDeque<Card>> getFoundation() {
+        return foundation;
+    }
+
+    /**
+     * Gets the talon together with the waste of cards dealt from it.
+     *
+     * @return the talon pile.
+     */
+    public TalonPile getTalon() {
+        return talon;
+    }
+
+    /**
+     * Restores the passes-through-talon counter, used when a game state is rebuilt from an encoding.
+     *
+     * @param passesThroughTalon the number of passes through the talon.
+     */
+    void setPassesThroughTalon(int passesThroughTalon) {
+        this.passesThroughTalon = passesThroughTalon;
+    }
+
+    /**
+     * Passes a message to the renderer when the current auto-play step is rendered.
+     *
+     * @param message the message to show.
+     */
+    private void log(String message) {
+        if (renderingStep) {
+            renderer.message(message);
+        }
+    }
+}
\ No newline at end of file
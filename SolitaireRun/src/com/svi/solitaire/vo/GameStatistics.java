@@ -0,0 +1,183 @@
+package com.svi.solitaire.vo;
+
+import com.svi.solitaire.logic.DeadDealDetector;
+
+/**
+ * Accumulates the outcome of many Solitaire games, such as the number of wins,
+ * the total moves made and the total passes through the talon.
+ * It is used by batch simulations to report win rates and averages.
+ * Deals rejected as unwinnable by the {@link DeadDealDetector} count as lost games,
+ * but not in the averages of the games actually played.
+ */
+public class GameStatistics {
+    private long gamesPlayed; // Number of games recorded
+    private long gamesWon; // Number of games that ended with every foundation complete
+    private long gamesStalled; // Number of games stopped because a position repeated
+    private final long[] deadDeals = new long[DeadDealDetector.Rule.values().length]; // Deals rejected, per rule
+    private long totalDeadDeals; // Number of deals rejected without being played
+    private long totalMoves; // Sum of the moves of every recorded game
+    private long totalPasses; // Sum of the passes through the talon of every recorded game
+
+    /**
+     * Records the outcome of a finished game.
+     *
+     * @param gameState the game state after auto-play has ended.
+     */
+    public void record(GameState gameState) {
+        gamesPlayed++;
+        if (gameState.isGameWon()) {
+            gamesWon++;
+        }
+        if (gameState.isStalled()) {
+            gamesStalled++;
+        }
+        totalMoves += gameState.getMoves();
+        totalPasses += gameState.getPassesThroughTalon();
+    }
+
+    /**
+     * Records a deal rejected as unwinnable before it was played, as a lost game.
+     *
+     * @param rule the rule that rejected the deal.
+     */
+    public void recordDeadDeal(DeadDealDetector.Rule rule) {
+        gamesPlayed++;
+        deadDeals[rule.ordinal()]++;
+        totalDeadDeals++;
+    }
+
+    /**
+     * Adds the counts of another set of statistics to this one.
+     *
+     * @param other the statistics to merge into this one.
+     */
+    public void merge(GameStatistics other) {
+        gamesPlayed += other.gamesPlayed;
+        gamesWon += other.gamesWon;
+        gamesStalled += other.gamesStalled;
+        for (int ruleIndex = 0; ruleIndex < deadDeals.length; ruleIndex++) {
+            deadDeals[ruleIndex] += other.deadDeals[ruleIndex];
+        }
+        totalDeadDeals += other.totalDeadDeals;
+        totalMoves += other.totalMoves;
+        totalPasses += other.totalPasses;
+    }
+
+    /**
+     * Gets the number of games recorded.
+     *
+     * @return the number of games played.
+     */
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return the number of games won.
+     */
+    public long getGamesWon() {
+        return gamesWon;
+    }
+
+    /**
+     * Gets the number of games stopped because auto-play reached a position a second time.
+     *
+     * @return the number of games stalled.
+     */
+    public long getGamesStalled() {
+        return gamesStalled;
+    }
+
+    /**
+     * Gets the number of deals rejected as unwinnable without being played.
+     *
+     * @return the number of dead deals.
+     */
+    public long getDeadDeals() {
+        return totalDeadDeals;
+    }
+
+    /**
+     * Gets the number of deals rejected by one dead-deal rule.
+     *
+     * @param rule the rule.
+     * @return the number of deals the rule rejected.
+     */
+    public long getDeadDeals(DeadDealDetector.Rule rule) {
+        return deadDeals[rule.ordinal()];
+    }
+
+    /**
+     * Gets the fraction of recorded games that were won.
+     *
+     * @return the win rate between 0 and 1, or 0 if no games were recorded.
+     */
+    public double getWinRate() {
+        return gamesPlayed == 0 ? 0 : (double) gamesWon / gamesPlayed;
+    }
+
+    /**
+     * Gets the lower bound of the Wilson score confidence interval of the win rate.
+     *
+     * @param z the standard normal quantile of the confidence level, e.g. 1.96 for 95%.
+     * @return the lower bound between 0 and 1, or 0 if no games were recorded.
+     */
+    public double getWinRateLowerBound(double z) {
+        return gamesPlayed == 0 ? 0 : wilsonCenter(z) - wilsonMargin(z);
+    }
+
+    /**
+     * Gets the upper bound of the Wilson score confidence interval of the win rate.
+     *
+     * @param z the standard normal quantile of the confidence level, e.g. 1.96 for 95%.
+     * @return the upper bound between 0 and 1, or 0 if no games were recorded.
+     */
+    public double getWinRateUpperBound(double z) {
+        return gamesPlayed == 0 ? 0 : wilsonCenter(z) + wilsonMargin(z);
+    }
+
+    private double wilsonCenter(double z) {
+        double zSquared = z * z;
+        return (getWinRate() + zSquared / (2 * gamesPlayed)) / (1 + zSquared / gamesPlayed);
+    }
+
+    private double wilsonMargin(double z) {
+        double zSquared = z * z;
+        double winRate = getWinRate();
+        return z * Math.sqrt(winRate * (1 - winRate) / gamesPlayed + zSquared / (4.0 * gamesPlayed * gamesPlayed))
+                / (1 + zSquared / gamesPlayed);
+    }
+
+    /**
+     * Gets the average number of moves per game played, leaving out dead deals.
+     *
+     * @return the average moves, or 0 if no games were played.
+     */
+    public double getAverageMoves() {
+        long gamesAutoPlayed = gamesPlayed - totalDeadDeals;
+        return gamesAutoPlayed == 0 ? 0 : (double) totalMoves / gamesAutoPlayed;
+    }
+
+    /**
+     * Gets the average number of passes through the talon per game played, leaving out dead deals.
+     *
+     * @return the average passes, or 0 if no games were played.
+     */
+    public double getAveragePasses() {
+        long gamesAutoPlayed = gamesPlayed - totalDeadDeals;
+        return gamesAutoPlayed == 0 ? 0 : (double) totalPasses / gamesAutoPlayed;
+    }
+
+    /**
+     * Returns a one-line summary of the recorded games.
+     *
+     * @return the summary of games, wins, stalls, dead deals, average moves and average passes.
+     */
+    @Override
+    public String toString() {
+        return String.format("Games: %d | Wins: %d (%.2f%%) | Stalls: %d | Dead Deals: %d | Avg Moves: %.2f | Avg Passthrus: %.2f",
+                gamesPlayed, gamesWon, getWinRate() * 100, gamesStalled, totalDeadDeals, getAverageMoves(), getAveragePasses());
+    }
+}
@@ -0,0 +1,227 @@
+package com.svi.solitaire.vo;
+
+/**
+ * Represents a Klondike Solitaire move. Moves are usually handled as packed {@code int} values
+ * so that move lists and the undo journal can be stored in primitive arrays without allocating
+ * an object per move; a {@code Move} object wraps a packed value when an explicit move is needed.
+ * <p>
+ * Bit layout of a packed move:
+ * <ul>
+ *     <li>Bits 0-3: the move type.</li>
+ *     <li>Bits 4-7: the source index (tableau column), when the type has one.</li>
+ *     <li>Bits 8-11: the target index (tableau column, or foundation pile for foundation moves).</li>
+ *     <li>Bits 12-16: the number of cards moved or dealt.</li>
+ *     <li>Bit 17: set once the move has been played if it turned a tableau card face-up.</li>
+ * </ul>
+ * </p>
+ */
+public final class Move {
+    /** Moves a run of face-up cards from one tableau column to another. */
+    public static final int TABLEAU_TO_TABLEAU = 1;
+
+    /** Moves the top card of a tableau column to its foundation pile. */
+    public static final int TABLEAU_TO_FOUNDATION = 2;
+
+    /** Moves the playable talon card to its foundation pile. */
+    public static final int TALON_TO_FOUNDATION = 3;
+
+    /** Moves the playable talon card to a tableau column. */
+    public static final int TALON_TO_TABLEAU = 4;
+
+    /** Deals one or three cards from the talon to the waste. */
+    public static final int DEAL = 5;
+
+    /** Turns the waste back over into the talon. */
+    public static final int REDEAL = 6;
+
+    private static final int TYPE_MASK = 0xF;
+    private static final int INDEX_MASK = 0xF;
+    private static final int COUNT_MASK = 0x1F;
+    private static final int SOURCE_SHIFT = 4;
+    private static final int TARGET_SHIFT = 8;
+    private static final int COUNT_SHIFT = 12;
+    private static final int FLIP_FLAG = 1 << 17;
+
+    private final int packed; // The packed form of this move
+
+    private Move(int packed) {
+        this.packed = packed;
+    }
+
+    /**
+     * Wraps a packed move in a move object.
+     *
+     * @param packed the packed move.
+     * @return the move object.
+     */
+    public static Move of(int packed) {
+        return new Move(packed);
+    }
+
+    /**
+     * Gets the packed form of this move.
+     *
+     * @return the packed move.
+     */
+    public int toPacked() {
+        return packed;
+    }
+
+    /**
+     * Gets the type of this move.
+     *
+     * @return the move type.
+     */
+    public int getType() {
+        return type(packed);
+    }
+
+    /**
+     * Gets the source column index of this move.
+     *
+     * @return the source column index.
+     */
+    public int getSource() {
+        return source(packed);
+    }
+
+    /**
+     * Gets the target column or foundation pile index of this move.
+     *
+     * @return the target index.
+     */
+    public int getTarget() {
+        return target(packed);
+    }
+
+    /**
+     * Gets the number of cards moved or dealt by this move.
+     *
+     * @return the card count.
+     */
+    public int getCount() {
+        return count(packed);
+    }
+
+    /**
+     * Checks whether this move turned a tableau card face-up when it was played.
+     *
+     * @return {@code true} if the move flipped a card.
+     */
+    public boolean isFlip() {
+        return isFlip(packed);
+    }
+
+    /**
+     * Packs a move into an {@code int}.
+     *
+     * @param type   the move type.
+     * @param source the source column index, or 0 if the move has no source column.
+     * @param target the target column or foundation pile index, or 0 if the move has no target.
+     * @param count  the number of cards moved or dealt.
+     * @return the packed move.
+     */
+    public static int pack(int type, int source, int target, int count) {
+        return type | (source << SOURCE_SHIFT) | (target << TARGET_SHIFT) | (count << COUNT_SHIFT);
+    }
+
+    /**
+     * Gets the type of a packed move.
+     *
+     * @param move the packed move.
+     * @return the move type.
+     */
+    public static int type(int move) {
+        return move & TYPE_MASK;
+    }
+
+    /**
+     * Gets the source column index of a packed move.
+     *
+     * @param move the packed move.
+     * @return the source column index.
+     */
+    public static int source(int move) {
+        return (move >>> SOURCE_SHIFT) & INDEX_MASK;
+    }
+
+    /**
+     * Gets the target column or foundation pile index of a packed move.
+     *
+     * @param move the packed move.
+     * @return the target index.
+     */
+    public static int target(int move) {
+        return (move >>> TARGET_SHIFT) & INDEX_MASK;
+    }
+
+    /**
+     * Gets the number of cards moved or dealt by a packed move.
+     *
+     * @param move the packed move.
+     * @return the card count.
+     */
+    public static int count(int move) {
+        return (move >>> COUNT_SHIFT) & COUNT_MASK;
+    }
+
+    /**
+     * Marks a packed move as having turned a tableau card face-up.
+     *
+     * @param move the packed move.
+     * @return the packed move with its flip bit set.
+     */
+    public static int withFlip(int move) {
+        return move | FLIP_FLAG;
+    }
+
+    /**
+     * Checks whether a packed move turned a tableau card face-up.
+     *
+     * @param move the packed move.
+     * @return {@code true} if the flip bit is set.
+     */
+    public static boolean isFlip(int move) {
+        return (move & FLIP_FLAG) != 0;
+    }
+
+    /**
+     * Removes the flip bit from a packed move, leaving the move as generated.
+     *
+     * @param move the packed move.
+     * @return the packed move without its flip bit.
+     */
+    public static int withoutFlip(int move) {
+        return move & ~FLIP_FLAG;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Move && ((Move) other).packed == packed;
+    }
+
+    @Override
+    public int hashCode() {
+        return packed;
+    }
+
+    @Override
+    public String toString() {
+        switch (getType()) {
+            case TABLEAU_TO_TABLEAU:
+                return "Column " + (getSource() + 1) + " -> Column " + (getTarget() + 1) + " (" + getCount() + " cards)";
+            case TABLEAU_TO_FOUNDATION:
+                return "Column " + (getSource() + 1) + " -> Foundation";
+            case TALON_TO_FOUNDATION:
+                return "Talon -> Foundation";
+            case TALON_TO_TABLEAU:
+                return "Talon -> Column " + (getTarget() + 1);
+            case DEAL:
+                return "Deal " + getCount();
+            case REDEAL:
+                return "Redeal";
+            default:
+                return "Unknown move";
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.svi.solitaire.vo;
+
+/**
+ * A tableau column of a Klondike Solitaire game, stored as a fixed array of card identifiers
+ * ordered from the bottom card to the top card.
+ * <p>
+ * The cards below the face-down boundary are face-down and every card above it is face-up.
+ * Cards are only ever laid on a column when they stack on its top card, and only whole runs or
+ * single top cards are taken off, so the face-up cards always form a single descending,
+ * alternating-colour run. The movable run is therefore read straight from the boundary, and
+ * moving it to another column is a single range copy.
+ * </p>
+ */
+public final class TableauPile {
+
+    /** The most cards a column can hold: six face-down cards under a full King-to-Ace run. */
+    public static final int CAPACITY = 6 + 13;
+
+    private final int[] cardIds = new int[CAPACITY];
+    private int size;
+    private int faceDownCount;
+
+    /**
+     * Gets the number of cards in the column.
+     *
+     * @return the column size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the column holds no cards.
+     *
+     * @return {@code true} if the column is empty; otherwise, {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of face-down cards at the bottom of the column.
+     *
+     * @return the face-down card count.
+     */
+    public int getFaceDownCount() {
+        return faceDownCount;
+    }
+
+    /**
+     * Gets the number of face-up cards on top of the column, which is also the length of its movable run.
+     *
+     * @return the face-up card count.
+     */
+    public int getFaceUpCount() {
+        return size - faceDownCount;
+    }
+
+    /**
+     * Checks whether a card of the column is face-up.
+     *
+     * @param index the card index, from 0 for the bottom card.
+     * @return {@code true} if the card is face-up; otherwise, {@code false}.
+     */
+    public boolean isFaceUp(int index) {
+        return index >= faceDownCount;
+    }
+
+    /**
+     * Gets a card of the column.
+     *
+     * @param index the card index, from 0 for the bottom card.
+     * @return the card at that index.
+     */
+    public Card get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Card index " + index + " out of range 0.." + size);
+        }
+        return Card.fromId(cardIds[index]);
+    }
+
+    /**
+     * Gets the top card of the column.
+     *
+     * @return the top card, or {@code null} if the column is empty.
+     */
+    public Card peekTop() {
+        return size == 0 ? null : Card.fromId(cardIds[size - 1]);
+    }
+
+    /**
+     * Gets the lowest card of a run on top of the column, i.e. the card that is placed on the target column.
+     *
+     * @param runLength the length of the run.
+     * @return the bottom card of the run.
+     */
+    public Card peekRunBottom(int runLength) {
+        return Card.fromId(cardIds[size - runLength]);
+    }
+
+    /**
+     * Lays a card on top of the column.
+     *
+     * @param card the card to add.
+     */
+    public void add(Card card) {
+        cardIds[size++] = card.getId();
+    }
+
+    /**
+     * Takes the top card off the column.
+     *
+     * @return the card removed.
+     */
+    public Card removeTop() {
+        return Card.fromId(cardIds[--size]);
+    }
+
+    /**
+     * Moves a run of cards from the top of this column onto another column, keeping their order.
+     *
+     * @param target    the column that receives the run.
+     * @param runLength the number of cards to move.
+     */
+    public void moveRunTo(TableauPile target, int runLength) {
+        size -= runLength;
+        System.arraycopy(cardIds, size, target.cardIds, target.size, runLength);
+        target.size += runLength;
+    }
+
+    /**
+     * Turns the top card face-up if every card of the column is face-down.
+     *
+     * @return {@code true} if a card was turned face-up; otherwise, {@code false}.
+     */
+    public boolean flipTop() {
+        if (size > 0 && size == faceDownCount) {
+            faceDownCount--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Turns the top card back face-down, taking back a {@link #flipTop()}.
+     */
+    public void unflipTop() {
+        faceDownCount++;
+    }
+
+    /**
+     * Removes every card from the column.
+     */
+    public void clear() {
+        size = 0;
+        faceDownCount = 0;
+    }
+
+    /**
+     * Sets how many cards at the bottom of the column are face-down.
+     *
+     * @param faceDownCount the face-down card count.
+     */
+    void setFaceDownCount(int faceDownCount) {
+        this.faceDownCount = faceDownCount;
+    }
+
+    /**
+     * Returns the cards of the column from bottom to top, with face-down cards shown as {@code [XX]}.
+     *
+     * @return a string representation of the column.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int index = 0; index < size; index++) {
+            if (index > 0) {
+                builder.append(", ");
+            }
+            builder.append(isFaceUp(index) ? Card.fromId(cardIds[index]).toString() : "XX");
+        }
+        return builder.append(']').toString();
+    }
+}
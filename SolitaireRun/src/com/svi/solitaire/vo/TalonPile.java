@@ -0,0 +1,173 @@
+package com.svi.solitaire.vo;
+
+/**
+ * The talon and waste of a Klondike Solitaire game, stored together as one array of card
+ * identifiers in dealing order with a cursor between them.
+ * <p>
+ * The cards before the cursor have been dealt to the waste, the most recently dealt one last,
+ * and the cards from the cursor on are still in the talon, the next one to deal first. Dealing
+ * one or three cards and turning the waste back over into the talon only move the cursor, and
+ * both are taken back the same way. Playing the top card of the waste closes the gap it leaves,
+ * which copies at most the remaining talon cards.
+ * </p>
+ */
+public final class TalonPile {
+
+    /** The most cards the talon and waste can hold: the deck minus the 28 cards dealt to the tableau. */
+    public static final int CAPACITY = 52 - 28;
+
+    private final int[] cardIds = new int[CAPACITY];
+    private int size;
+    private int cursor;
+
+    /**
+     * Gets the number of cards in the talon and waste together.
+     *
+     * @return the number of cards.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether both the talon and the waste are empty.
+     *
+     * @return {@code true} if no cards are left; otherwise, {@code false}.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of cards still to be dealt from the talon.
+     *
+     * @return the talon size.
+     */
+    public int getTalonSize() {
+        return size - cursor;
+    }
+
+    /**
+     * Gets the number of cards dealt to the waste, which is also the position of the cursor.
+     *
+     * @return the waste size.
+     */
+    public int getWasteSize() {
+        return cursor;
+    }
+
+    /**
+     * Gets a card in dealing order; the waste cards come first, followed by the talon cards.
+     *
+     * @param index the card index, from 0 for the first card dealt.
+     * @return the card at that index.
+     */
+    public Card get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Card index " + index + " out of range 0.." + size);
+        }
+        return Card.fromId(cardIds[index]);
+    }
+
+    /**
+     * Gets the identifier of a card in dealing order.
+     *
+     * @param index the card index, from 0 for the first card dealt; it must be below {@link #size()}.
+     * @return the card identifier at that index.
+     */
+    public int getCardId(int index) {
+        return cardIds[index];
+    }
+
+    /**
+     * Gets the top card of the waste, i.e. the card that may be played.
+     *
+     * @return the top card of the waste, or {@code null} if the waste is empty.
+     */
+    public Card peekWasteTop() {
+        return cursor == 0 ? null : Card.fromId(cardIds[cursor - 1]);
+    }
+
+    /**
+     * Adds a card to the bottom of the talon, used while dealing out a new game.
+     *
+     * @param card the card to add.
+     */
+    public void add(Card card) {
+        cardIds[size++] = card.getId();
+    }
+
+    /**
+     * Deals cards from the talon to the waste.
+     *
+     * @param count the number of cards to deal; at most the talon size.
+     */
+    public void deal(int count) {
+        cursor += count;
+    }
+
+    /**
+     * Takes back a {@link #deal(int)}, returning cards from the waste to the talon.
+     *
+     * @param count the number of cards that were dealt.
+     */
+    public void undeal(int count) {
+        cursor -= count;
+    }
+
+    /**
+     * Turns the waste back over into the talon, keeping the dealing order.
+     */
+    public void redeal() {
+        cursor = 0;
+    }
+
+    /**
+     * Takes back a {@link #redeal()}, which is only possible once the talon was empty,
+     * so every card returns to the waste.
+     */
+    public void undoRedeal() {
+        cursor = size;
+    }
+
+    /**
+     * Takes the top card off the waste.
+     *
+     * @return the card removed.
+     */
+    public Card removeWasteTop() {
+        Card card = Card.fromId(cardIds[cursor - 1]);
+        System.arraycopy(cardIds, cursor, cardIds, cursor - 1, size - cursor);
+        cursor--;
+        size--;
+        return card;
+    }
+
+    /**
+     * Puts a card back on top of the waste, taking back a {@link #removeWasteTop()}.
+     *
+     * @param card the card to restore.
+     */
+    public void restoreWasteTop(Card card) {
+        System.arraycopy(cardIds, cursor, cardIds, cursor + 1, size - cursor);
+        cardIds[cursor++] = card.getId();
+        size++;
+    }
+
+    /**
+     * Removes every card from the talon and waste.
+     */
+    public void clear() {
+        size = 0;
+        cursor = 0;
+    }
+
+    /**
+     * Moves the cursor, used when a talon is rebuilt from an encoding.
+     *
+     * @param wasteSize the number of cards in the waste.
+     */
+    void setWasteSize(int wasteSize) {
+        this.cursor = wasteSize;
+    }
+}